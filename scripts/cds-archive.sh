@@ -0,0 +1,40 @@
+#!/bin/sh
+# Builds a class data sharing (CDS) archive for the application and prints the command to start it with the archive.
+#
+# The Spring Boot fat jar loads classes through its own class loader, which CDS cannot archive, so the jar is
+# unpacked into application/ with a plain classpath first. A training run starts the context and exits once it
+# is refreshed, dumping every loaded class into application/application.jsa.
+#
+# Usage: ./mvnw package [-Paot] && scripts/cds-archive.sh [target/dynamic-query-engine-0.0.1-SNAPSHOT.jar]
+set -e
+
+JAR=${1:-$(ls target/dynamic-query-engine-*.jar | grep -v original | head -n 1)}
+OUT=target/application
+AOT_OPTS=""
+
+rm -rf "$OUT"
+mkdir -p "$OUT/unpacked"
+(cd "$OUT/unpacked" && jar xf "$OLDPWD/$JAR")
+
+# CDS only archives classes loaded from jar files, so the application classes are repacked into one
+jar cf "$OUT/app.jar" -C "$OUT/unpacked/BOOT-INF/classes" .
+mv "$OUT/unpacked/BOOT-INF/lib" "$OUT/lib"
+rm -rf "$OUT/unpacked"
+
+CLASSPATH="app.jar"
+for lib in "$OUT"/lib/*.jar; do
+    CLASSPATH="$CLASSPATH:lib/$(basename "$lib")"
+done
+
+# Jars built with -Paot contain the generated context initializers
+if unzip -l "$JAR" | grep -q '__ApplicationContextInitializer'; then
+    AOT_OPTS="-Dspring.aot.enabled=true"
+fi
+
+cd "$OUT"
+java -XX:ArchiveClassesAtExit=application.jsa -Dspring.context.exit=onRefresh $AOT_OPTS \
+    -cp "$CLASSPATH" com.fordevs.dynamicqueryengine.DynamicQueryEngineApplication
+
+echo
+echo "Start the application with:"
+echo "  cd $OUT && java -XX:SharedArchiveFile=application.jsa $AOT_OPTS -cp $CLASSPATH com.fordevs.dynamicqueryengine.DynamicQueryEngineApplication"
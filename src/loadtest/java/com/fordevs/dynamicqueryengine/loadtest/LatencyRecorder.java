@@ -0,0 +1,111 @@
+package com.fordevs.dynamicqueryengine.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the latency of every operation started inside the measurement window.
+ * Operations started during warm-up are ignored.
+ */
+public class LatencyRecorder {
+
+    private final Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong wrongTenant = new AtomicLong();
+    private volatile long measureFromNanos = Long.MAX_VALUE;
+    private volatile long measureToNanos = Long.MAX_VALUE;
+
+    public LatencyRecorder() {
+        for (Operation operation : Operation.values()) {
+            samples.put(operation, new Samples());
+        }
+    }
+
+    /**
+     * Sets the measurement window, in {@link System#nanoTime()} units.
+     *
+     * @param fromNanos the start of the window
+     * @param toNanos   the end of the window
+     */
+    public void setWindow(long fromNanos, long toNanos) {
+        this.measureFromNanos = fromNanos;
+        this.measureToNanos = toNanos;
+    }
+
+    /**
+     * Records one completed operation.
+     *
+     * @param operation    the operation
+     * @param startNanos   the time the operation was started, or intended to start in open-loop mode
+     * @param latencyNanos the time from start to completion
+     * @param outcome      the outcome of the operation, answers from another tenant count as errors too
+     */
+    public void record(Operation operation, long startNanos, long latencyNanos, Outcome outcome) {
+        if (startNanos < measureFromNanos || startNanos >= measureToNanos) {
+            return;
+        }
+        samples.get(operation).add(latencyNanos);
+        if (outcome != Outcome.SUCCESS) {
+            errors.incrementAndGet();
+        }
+        if (outcome == Outcome.WRONG_TENANT) {
+            wrongTenant.incrementAndGet();
+        }
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    public long getWrongTenant() {
+        return wrongTenant.get();
+    }
+
+    public long getCount(Operation operation) {
+        return samples.get(operation).size();
+    }
+
+    /**
+     * Gets a latency percentile of an operation.
+     *
+     * @param operation  the operation
+     * @param percentile the percentile, between 0 and 1
+     * @return the latency in milliseconds, or 0 if the operation was never recorded
+     */
+    public double getPercentileMillis(Operation operation, double percentile) {
+        long[] sorted = samples.get(operation).sorted();
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+
+    /**
+     * Growable array of latencies for one operation.
+     */
+    private static final class Samples {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        synchronized void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.fordevs.dynamicqueryengine.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Load test settings, read from {@code loadtest.properties} on the classpath
+ * and overridden by non-blank system properties with the same names, e.g. {@code -Dloadtest.users=64}.
+ */
+public class LoadTestConfig {
+
+    private final Properties properties = new Properties();
+
+    private LoadTestConfig() {
+    }
+
+    /**
+     * Loads the configuration from the classpath defaults and the system properties.
+     *
+     * @return the configuration
+     */
+    public static LoadTestConfig load() {
+        LoadTestConfig config = new LoadTestConfig();
+        try (InputStream in = LoadTestConfig.class.getResourceAsStream("/loadtest.properties")) {
+            if (in != null) {
+                config.properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read loadtest.properties", e);
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("loadtest.") && !System.getProperty(name).isBlank())
+                .forEach(name -> config.properties.setProperty(name, System.getProperty(name)));
+        return config;
+    }
+
+    public int getTenants() {
+        return getInt("loadtest.tenants", 1);
+    }
+
+    public int getRowsPerTenant() {
+        return getInt("loadtest.rowsPerTenant", 1000);
+    }
+
+    /**
+     * Gets the workload mode: {@code closed} for a fixed number of users looping without pause,
+     * or {@code open} for a fixed arrival rate regardless of response times.
+     *
+     * @return the workload mode
+     */
+    public String getMode() {
+        return properties.getProperty("loadtest.mode", "closed");
+    }
+
+    public int getUsers() {
+        return getInt("loadtest.users", 16);
+    }
+
+    public int getRatePerSecond() {
+        return getInt("loadtest.ratePerSecond", 200);
+    }
+
+    public int getThinkTimeMillis() {
+        return getInt("loadtest.thinkTimeMillis", 0);
+    }
+
+    public int getWarmupSeconds() {
+        return getInt("loadtest.warmupSeconds", 5);
+    }
+
+    public int getDurationSeconds() {
+        return getInt("loadtest.durationSeconds", 30);
+    }
+
+    /**
+     * Gets the relative weight of an operation in the request mix.
+     *
+     * @param operation the operation
+     * @return the weight, 0 to never issue it
+     */
+    public int getWeight(Operation operation) {
+        return getInt("loadtest.mix." + operation.getKey(), operation.getDefaultWeight());
+    }
+
+    public double getTolerance() {
+        return Double.parseDouble(properties.getProperty("loadtest.tolerance", "0.25"));
+    }
+
+    public double getMaxErrorRate() {
+        return Double.parseDouble(properties.getProperty("loadtest.maxErrorRate", "0.01"));
+    }
+
+    public String getBaselineFile() {
+        return properties.getProperty("loadtest.baselineFile", "src/loadtest/resources/loadtest-baseline.properties");
+    }
+
+    public String getResultsFile() {
+        return properties.getProperty("loadtest.resultsFile", "target/loadtest/loadtest-results.properties");
+    }
+
+    public boolean isUpdateBaseline() {
+        return Boolean.parseBoolean(properties.getProperty("loadtest.updateBaseline", "false"));
+    }
+
+    private int getInt(String name, int defaultValue) {
+        String value = properties.getProperty(name);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+}
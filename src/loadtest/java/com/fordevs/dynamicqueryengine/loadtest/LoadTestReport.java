@@ -0,0 +1,148 @@
+package com.fordevs.dynamicqueryengine.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Results of a load test run, with comparison against a stored baseline.
+ * <p>
+ * Throughput regresses when it falls below the baseline, latencies and heap when they rise above it,
+ * in both cases by more than the configured tolerance.
+ */
+@Slf4j
+public class LoadTestReport {
+
+    static final String THROUGHPUT = "throughput.total";
+    static final String ERROR_RATE = "errors.rate";
+    static final String WRONG_TENANT = "errors.wrongTenant";
+    static final String HEAP_PEAK = "heap.peak.mb";
+
+    private final Map<String, Double> metrics = new TreeMap<>();
+
+    /**
+     * Builds the report of a run.
+     *
+     * @param recorder        the recorded latencies
+     * @param sampler         the sampled resource usage
+     * @param durationSeconds the length of the measurement window
+     * @return the report
+     */
+    public static LoadTestReport of(LatencyRecorder recorder, ResourceSampler sampler, int durationSeconds) {
+        LoadTestReport report = new LoadTestReport();
+        long total = 0;
+        for (Operation operation : Operation.values()) {
+            long count = recorder.getCount(operation);
+            total += count;
+            String prefix = operation.getKey();
+            report.metrics.put(prefix + ".count", (double) count);
+            report.metrics.put(prefix + ".p50.ms", recorder.getPercentileMillis(operation, 0.50));
+            report.metrics.put(prefix + ".p99.ms", recorder.getPercentileMillis(operation, 0.99));
+            report.metrics.put(prefix + ".p999.ms", recorder.getPercentileMillis(operation, 0.999));
+        }
+        report.metrics.put(THROUGHPUT, (double) total / durationSeconds);
+        report.metrics.put(ERROR_RATE, total == 0 ? 0 : (double) recorder.getErrors() / total);
+        report.metrics.put(WRONG_TENANT, (double) recorder.getWrongTenant());
+        report.metrics.put(HEAP_PEAK, sampler.getPeakHeapMegabytes());
+        report.metrics.put("pool.active.peak", (double) sampler.getPeakActiveConnections());
+        report.metrics.put("pool.waiting.peak", (double) sampler.getPeakWaitingThreads());
+        report.metrics.put("pool.saturation.peak", sampler.getPeakSaturation());
+        return report;
+    }
+
+    /**
+     * Prints the report to standard output.
+     */
+    public void print() {
+        StringBuilder out = new StringBuilder("\n=== Load test results ===\n");
+        out.append(String.format(Locale.ROOT, "%-12s %10s %10s %10s %10s%n", "operation", "count", "p50 ms", "p99 ms", "p999 ms"));
+        for (Operation operation : Operation.values()) {
+            String prefix = operation.getKey();
+            out.append(String.format(Locale.ROOT, "%-12s %10.0f %10.2f %10.2f %10.2f%n", prefix,
+                    metrics.get(prefix + ".count"), metrics.get(prefix + ".p50.ms"),
+                    metrics.get(prefix + ".p99.ms"), metrics.get(prefix + ".p999.ms")));
+        }
+        out.append(String.format(Locale.ROOT, "throughput   %.1f ops/s, error rate %.4f, %.0f answers from another tenant%n",
+                metrics.get(THROUGHPUT), metrics.get(ERROR_RATE), metrics.get(WRONG_TENANT)));
+        out.append(String.format(Locale.ROOT, "heap peak    %.1f MB%n", metrics.get(HEAP_PEAK)));
+        out.append(String.format(Locale.ROOT, "pools        %.0f active, %.0f waiting, %.0f%% saturation at peak%n",
+                metrics.get("pool.active.peak"), metrics.get("pool.waiting.peak"), metrics.get("pool.saturation.peak") * 100));
+        System.out.println(out);
+    }
+
+    /**
+     * Writes the metrics to a properties file.
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void save(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Properties properties = new Properties();
+        metrics.forEach((name, value) -> properties.setProperty(name, String.format(Locale.ROOT, "%.3f", value)));
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            properties.store(writer, "Dynamic Query Engine load test results");
+        }
+    }
+
+    /**
+     * Compares the report with a baseline file. Metrics missing from the baseline are not compared,
+     * but a baseline without the throughput, including a missing file, is reported as a regression.
+     *
+     * @param baselineFile the baseline file
+     * @param tolerance    the allowed relative regression, e.g. 0.25 for 25%
+     * @param maxErrorRate the allowed error rate
+     * @return the regressions found, empty if none
+     * @throws IOException if the baseline cannot be read
+     */
+    public List<String> findRegressions(Path baselineFile, double tolerance, double maxErrorRate) throws IOException {
+        List<String> regressions = new ArrayList<>();
+        if (metrics.get(ERROR_RATE) > maxErrorRate) {
+            regressions.add(String.format(Locale.ROOT, "error rate %.4f exceeds %.4f", metrics.get(ERROR_RATE), maxErrorRate));
+        }
+        // Serving another tenant's data is never tolerated, whatever the error rate allowance
+        if (metrics.get(WRONG_TENANT) > 0) {
+            regressions.add(String.format(Locale.ROOT, "%.0f responses carried another tenant's data", metrics.get(WRONG_TENANT)));
+        }
+        Properties baseline = new Properties();
+        if (Files.exists(baselineFile)) {
+            try (Reader reader = Files.newBufferedReader(baselineFile)) {
+                baseline.load(reader);
+            }
+        }
+        // Without a baseline nothing would be compared, so a missing one fails the run instead of passing it
+        if (!baseline.containsKey(THROUGHPUT)) {
+            regressions.add("no baseline recorded in " + baselineFile + ", record one with -Dloadtest.updateBaseline=true");
+            return regressions;
+        }
+        for (String name : baseline.stringPropertyNames()) {
+            Double actual = metrics.get(name);
+            if (actual == null) {
+                continue;
+            }
+            double expected = Double.parseDouble(baseline.getProperty(name));
+            if (THROUGHPUT.equals(name) && actual < expected * (1 - tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s dropped to %.2f from baseline %.2f", name, actual, expected));
+            } else if (isLowerBetter(name) && actual > expected * (1 + tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s rose to %.2f from baseline %.2f", name, actual, expected));
+            }
+        }
+        return regressions;
+    }
+
+    private static boolean isLowerBetter(String name) {
+        return name.endsWith(".p50.ms") || name.endsWith(".p99.ms") || name.endsWith(".p999.ms") || HEAP_PEAK.equals(name);
+    }
+}
@@ -0,0 +1,83 @@
+package com.fordevs.dynamicqueryengine.loadtest;
+
+import com.fordevs.dynamicqueryengine.DynamicQueryEngineApplication;
+import com.fordevs.dynamicqueryengine.config.DynamicDataSourceManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point of the multi-tenant load test.
+ * <p>
+ * Starts the application on a random port against embedded H2 tenant databases, runs the
+ * configured workload, prints and saves the results, and fails when they regress past the
+ * stored baseline. Run it with {@code mvn -Ploadtest verify}; see {@link LoadTestConfig} for
+ * the settings.
+ */
+@Slf4j
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.load();
+        if (config.getTenants() > 1) {
+            log.warn("Running with {} tenants: connections are shared between callers, so wrong-tenant answers will fail the run",
+                    config.getTenants());
+        }
+        TenantDatabases tenants = TenantDatabases.create(config.getTenants(), config.getRowsPerTenant());
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DynamicQueryEngineApplication.class)
+                .properties("server.port=0", "spring.devtools.restart.enabled=false", "dqe.dialect.h2.enabled=true")
+                .run(args)) {
+            int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+            NavigatorClient client = new NavigatorClient(port, tenants, config.getRowsPerTenant());
+            LatencyRecorder recorder = new LatencyRecorder();
+
+            try (ResourceSampler sampler = new ResourceSampler(context.getBean(DynamicDataSourceManager.class))) {
+                long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.getWarmupSeconds());
+                long runEnd = warmupEnd + TimeUnit.SECONDS.toNanos(config.getDurationSeconds());
+                recorder.setWindow(warmupEnd, runEnd);
+                sampler.start();
+
+                Thread resetAfterWarmup = new Thread(() -> {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(warmupEnd - System.nanoTime());
+                        sampler.reset();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                resetAfterWarmup.setDaemon(true);
+                resetAfterWarmup.start();
+
+                new Workload(config, client, recorder, tenants.size()).run(runEnd);
+
+                LoadTestReport report = LoadTestReport.of(recorder, sampler, config.getDurationSeconds());
+                report.print();
+
+                Path resultsFile = Path.of(config.getResultsFile());
+                report.save(resultsFile);
+                log.info("Results written to {}", resultsFile.toAbsolutePath());
+
+                Path baselineFile = Path.of(config.getBaselineFile());
+                if (config.isUpdateBaseline()) {
+                    Files.copy(resultsFile, baselineFile, StandardCopyOption.REPLACE_EXISTING);
+                    log.info("Baseline updated at {}", baselineFile.toAbsolutePath());
+                    return;
+                }
+
+                List<String> regressions = report.findRegressions(baselineFile, config.getTolerance(), config.getMaxErrorRate());
+                if (!regressions.isEmpty()) {
+                    regressions.forEach(regression -> log.error("Regression: {}", regression));
+                    throw new IllegalStateException("Load test regressed past the baseline: " + regressions);
+                }
+                log.info("No regression against {}", baselineFile);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.fordevs.dynamicqueryengine.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * HTTP client issuing the load test operations against DatabaseNavigatorController.
+ */
+public class NavigatorClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final TenantDatabases tenants;
+    private final int rowsPerTenant;
+
+    public NavigatorClient(int port, TenantDatabases tenants, int rowsPerTenant) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .build();
+        this.baseUrl = "http://localhost:" + port + "/api/database";
+        this.tenants = tenants;
+        this.rowsPerTenant = rowsPerTenant;
+    }
+
+    /**
+     * Executes one operation on behalf of a tenant and checks that the response holds that tenant's data.
+     *
+     * @param operation the operation
+     * @param tenant    the tenant index
+     * @return the outcome of the operation
+     */
+    public Outcome execute(Operation operation, int tenant) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        HttpRequest request = switch (operation) {
+            case CONNECT -> post("/connect", tenants.credentialsJson(tenant), "application/json");
+            case LIST_TABLES -> get("/listTables");
+            case DATA -> get("/data/" + TenantDatabases.TABLE_NAME + "?page=" + random.nextInt(Math.max(1, rowsPerTenant / 10)) + "&size=10");
+            case QUERY -> post("/execute/query",
+                    "SELECT * FROM " + TenantDatabases.TABLE_NAME + " WHERE ID = " + (1 + random.nextInt(Math.max(1, rowsPerTenant))),
+                    "text/plain");
+        };
+        try {
+            HttpResponse<String> response = httpClient.send(withTenant(request, tenant), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                return Outcome.ERROR;
+            }
+            return isFromTenant(operation, tenant, response.body()) ? Outcome.SUCCESS : Outcome.WRONG_TENANT;
+        } catch (IOException e) {
+            return Outcome.ERROR;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Outcome.ERROR;
+        }
+    }
+
+    /**
+     * Tells whether a response was served from the database of the tenant: the table list must hold the tenant's own
+     * table, and every row returned must carry the tenant name.
+     */
+    private boolean isFromTenant(Operation operation, int tenant, String body) {
+        return switch (operation) {
+            case CONNECT -> true;
+            case LIST_TABLES -> body.contains("\"" + TenantDatabases.markerTable(tenant) + "\"");
+            case DATA, QUERY -> {
+                int rows = count(body, "\"" + TenantDatabases.TENANT_COLUMN + "\":\"");
+                int own = count(body, "\"" + TenantDatabases.TENANT_COLUMN + "\":\"" + TenantDatabases.tenantName(tenant) + "\"");
+                yield rows > 0 && rows == own;
+            }
+        };
+    }
+
+    private static int count(String text, String token) {
+        int count = 0;
+        for (int index = text.indexOf(token); index >= 0; index = text.indexOf(token, index + token.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    private HttpRequest withTenant(HttpRequest request, int tenant) {
+        // Lets the admission scheduler share the server fairly between the simulated tenants
+        return HttpRequest.newBuilder(request, (name, value) -> true).header("X-Tenant-Id", "tenant" + tenant).build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT).GET().build();
+    }
+
+    private HttpRequest post(String path, String body, String contentType) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
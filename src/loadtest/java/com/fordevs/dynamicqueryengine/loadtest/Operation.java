@@ -0,0 +1,27 @@
+package com.fordevs.dynamicqueryengine.loadtest;
+
+/**
+ * Operations issued against DatabaseNavigatorController.
+ */
+public enum Operation {
+    CONNECT("connect", 1),
+    LIST_TABLES("listTables", 1),
+    DATA("data", 6),
+    QUERY("query", 2);
+
+    private final String key;
+    private final int defaultWeight;
+
+    Operation(String key, int defaultWeight) {
+        this.key = key;
+        this.defaultWeight = defaultWeight;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getDefaultWeight() {
+        return defaultWeight;
+    }
+}
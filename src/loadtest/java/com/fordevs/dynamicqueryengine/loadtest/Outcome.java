@@ -0,0 +1,13 @@
+package com.fordevs.dynamicqueryengine.loadtest;
+
+/**
+ * Outcome of one operation issued against DatabaseNavigatorController.
+ */
+public enum Outcome {
+    /** 2xx response with the data of the requesting tenant. */
+    SUCCESS,
+    /** Non 2xx response or I/O failure. */
+    ERROR,
+    /** 2xx response carrying the data of another tenant, or none of the requesting tenant's. */
+    WRONG_TENANT
+}
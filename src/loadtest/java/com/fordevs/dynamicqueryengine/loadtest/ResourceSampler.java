@@ -0,0 +1,88 @@
+package com.fordevs.dynamicqueryengine.loadtest;
+
+import com.fordevs.dynamicqueryengine.config.DynamicDataSourceManager;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically samples heap usage and connection pool usage, keeping the peaks.
+ */
+public class ResourceSampler implements AutoCloseable {
+
+    private static final long SAMPLE_INTERVAL_MILLIS = 100;
+
+    private final DynamicDataSourceManager dataSourceManager;
+    private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private volatile long peakHeapBytes;
+    private volatile int peakActiveConnections;
+    private volatile int peakWaitingThreads;
+    private volatile double peakSaturation;
+
+    public ResourceSampler(DynamicDataSourceManager dataSourceManager) {
+        this.dataSourceManager = dataSourceManager;
+    }
+
+    /**
+     * Starts sampling in the background.
+     */
+    public void start() {
+        scheduler.scheduleAtFixedRate(this::sample, 0, SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Clears the peaks, called when the warm-up ends.
+     */
+    public void reset() {
+        peakHeapBytes = 0;
+        peakActiveConnections = 0;
+        peakWaitingThreads = 0;
+        peakSaturation = 0;
+    }
+
+    private void sample() {
+        peakHeapBytes = Math.max(peakHeapBytes, memoryMXBean.getHeapMemoryUsage().getUsed());
+
+        int active = 0;
+        int waiting = 0;
+        for (HikariDataSource pool : dataSourceManager.getConnectionPools()) {
+            HikariPoolMXBean poolMXBean = pool.getHikariPoolMXBean();
+            if (poolMXBean == null) {
+                continue;
+            }
+            active += poolMXBean.getActiveConnections();
+            waiting += poolMXBean.getThreadsAwaitingConnection();
+            peakSaturation = Math.max(peakSaturation, (double) poolMXBean.getActiveConnections() / pool.getMaximumPoolSize());
+        }
+        peakActiveConnections = Math.max(peakActiveConnections, active);
+        peakWaitingThreads = Math.max(peakWaitingThreads, waiting);
+    }
+
+    public double getPeakHeapMegabytes() {
+        return peakHeapBytes / (1024.0 * 1024.0);
+    }
+
+    public int getPeakActiveConnections() {
+        return peakActiveConnections;
+    }
+
+    public int getPeakWaitingThreads() {
+        return peakWaitingThreads;
+    }
+
+    public double getPeakSaturation() {
+        return peakSaturation;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,111 @@
+package com.fordevs.dynamicqueryengine.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Embedded in-memory H2 databases standing in for tenants.
+ * Every tenant gets the same CUSTOMER table, so the same requests run against each of them, but the rows carry
+ * the tenant name in their TENANT column and each tenant has a table of its own, so that a response served
+ * from another tenant's database is detected.
+ */
+@Slf4j
+public class TenantDatabases {
+
+    static final String USER_NAME = "sa";
+    static final String PASSWORD = "loadtest";
+    static final String TABLE_NAME = "CUSTOMER";
+    static final String TENANT_COLUMN = "TENANT";
+
+    private final List<String> databaseNames = new ArrayList<>();
+
+    /**
+     * Creates and seeds the tenant databases.
+     *
+     * @param tenants       the number of tenants
+     * @param rowsPerTenant the number of rows of each tenant table
+     * @return the tenant databases
+     * @throws SQLException if a database cannot be created
+     */
+    public static TenantDatabases create(int tenants, int rowsPerTenant) throws SQLException {
+        TenantDatabases databases = new TenantDatabases();
+        for (int i = 0; i < tenants; i++) {
+            String databaseName = "mem:" + tenantName(i);
+            seed(databaseName, tenantName(i), markerTable(i), rowsPerTenant);
+            databases.databaseNames.add(databaseName);
+        }
+        log.info("Created {} tenant databases with {} rows each", tenants, rowsPerTenant);
+        return databases;
+    }
+
+    private static void seed(String databaseName, String tenantName, String markerTable, int rows) throws SQLException {
+        // Same URL as H2Dialect builds, so the application sees the seeded database
+        String url = "jdbc:h2:" + databaseName + ";DB_CLOSE_DELAY=-1";
+        try (Connection con = DriverManager.getConnection(url, USER_NAME, PASSWORD)) {
+            try (Statement st = con.createStatement()) {
+                st.execute("CREATE TABLE " + TABLE_NAME + " (ID INT PRIMARY KEY, " + TENANT_COLUMN + " VARCHAR(32), NAME VARCHAR(64), EMAIL VARCHAR(128), BALANCE DECIMAL(12, 2))");
+                st.execute("CREATE TABLE " + markerTable + " (ID INT PRIMARY KEY)");
+            }
+            con.setAutoCommit(false);
+            try (PreparedStatement ps = con.prepareStatement("INSERT INTO " + TABLE_NAME + " VALUES (?, ?, ?, ?, ?)")) {
+                for (int id = 1; id <= rows; id++) {
+                    ps.setInt(1, id);
+                    ps.setString(2, tenantName);
+                    ps.setString(3, "Customer " + id);
+                    ps.setString(4, "customer" + id + "@example.com");
+                    ps.setBigDecimal(5, BigDecimal.valueOf(id % 10_000, 2));
+                    ps.addBatch();
+                    if (id % 1000 == 0) {
+                        ps.executeBatch();
+                    }
+                }
+                ps.executeBatch();
+            }
+            con.commit();
+        }
+    }
+
+    /**
+     * Builds the {@code /connect} request body for a tenant.
+     *
+     * @param tenant the tenant index
+     * @return the JSON credentials
+     */
+    public String credentialsJson(int tenant) {
+        return "{\"databaseType\":\"h2\",\"host\":\"localhost\",\"port\":0,"
+                + "\"databaseName\":\"" + databaseNames.get(tenant) + "\","
+                + "\"userName\":\"" + USER_NAME + "\",\"password\":\"" + PASSWORD + "\"}";
+    }
+
+    /**
+     * Gets the name of a tenant, stored in the TENANT column of its rows.
+     *
+     * @param tenant the tenant index
+     * @return the tenant name
+     */
+    public static String tenantName(int tenant) {
+        return "tenant" + tenant;
+    }
+
+    /**
+     * Gets the name of the table only present in the database of a tenant.
+     *
+     * @param tenant the tenant index
+     * @return the table name
+     */
+    public static String markerTable(int tenant) {
+        return "ONLY_TENANT" + tenant;
+    }
+
+    public int size() {
+        return databaseNames.size();
+    }
+}
@@ -0,0 +1,137 @@
+package com.fordevs.dynamicqueryengine.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives the request mix against the application, in closed-loop or open-loop mode.
+ * <p>
+ * In closed-loop mode a fixed number of users issue requests back to back, so throughput
+ * drops when the server slows down. In open-loop mode requests arrive at a fixed rate and
+ * latency is measured from the intended start time, so queueing delays are not hidden.
+ */
+@Slf4j
+public class Workload {
+
+    private final LoadTestConfig config;
+    private final NavigatorClient client;
+    private final LatencyRecorder recorder;
+    private final int tenants;
+    private final Operation[] operations = Operation.values();
+    private final int[] cumulativeWeights;
+
+    public Workload(LoadTestConfig config, NavigatorClient client, LatencyRecorder recorder, int tenants) {
+        this.config = config;
+        this.client = client;
+        this.recorder = recorder;
+        this.tenants = tenants;
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += config.getWeight(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("At least one operation must have a positive weight");
+        }
+    }
+
+    /**
+     * Runs the workload until the given time.
+     *
+     * @param endNanos the end of the run, in {@link System#nanoTime()} units
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public void run(long endNanos) throws InterruptedException {
+        if ("open".equalsIgnoreCase(config.getMode())) {
+            runOpenLoop(endNanos);
+        } else {
+            runClosedLoop(endNanos);
+        }
+    }
+
+    private void runClosedLoop(long endNanos) throws InterruptedException {
+        int users = config.getUsers();
+        log.info("Running closed-loop workload with {} users", users);
+        ExecutorService workers = Executors.newFixedThreadPool(users);
+        for (int user = 0; user < users; user++) {
+            int tenant = user % tenants;
+            workers.submit(() -> {
+                while (System.nanoTime() < endNanos && !Thread.currentThread().isInterrupted()) {
+                    long start = System.nanoTime();
+                    execute(tenant, start);
+                    thinkTime();
+                }
+            });
+        }
+        workers.shutdown();
+        awaitWorkers(workers, endNanos);
+    }
+
+    private void runOpenLoop(long endNanos) throws InterruptedException {
+        int rate = config.getRatePerSecond();
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        log.info("Running open-loop workload at {} requests/s with {} workers", rate, config.getUsers());
+
+        ExecutorService workers = Executors.newFixedThreadPool(config.getUsers());
+        ScheduledExecutorService arrivals = Executors.newSingleThreadScheduledExecutor();
+        long startNanos = System.nanoTime();
+        AtomicLong arrival = new AtomicLong();
+        arrivals.scheduleAtFixedRate(() -> {
+            long now = System.nanoTime();
+            // Catch up on arrivals missed by timer jitter, each with its own intended start time
+            long next;
+            while ((next = arrival.get()) * periodNanos + startNanos <= now && startNanos + next * periodNanos < endNanos) {
+                long intendedStart = startNanos + next * periodNanos;
+                int tenant = (int) (next % tenants);
+                arrival.incrementAndGet();
+                workers.submit(() -> execute(tenant, intendedStart));
+            }
+        }, 0, Math.max(1, periodNanos), TimeUnit.NANOSECONDS);
+
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, endNanos - System.nanoTime()));
+        arrivals.shutdownNow();
+        workers.shutdown();
+        awaitWorkers(workers, endNanos);
+    }
+
+    private void execute(int tenant, long startNanos) {
+        Operation operation = nextOperation();
+        Outcome outcome = client.execute(operation, tenant);
+        recorder.record(operation, startNanos, System.nanoTime() - startNanos, outcome);
+    }
+
+    private Operation nextOperation() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < operations.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private void thinkTime() {
+        if (config.getThinkTimeMillis() > 0) {
+            try {
+                Thread.sleep(config.getThinkTimeMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void awaitWorkers(ExecutorService workers, long endNanos) throws InterruptedException {
+        long graceNanos = TimeUnit.SECONDS.toNanos(30);
+        if (!workers.awaitTermination(Math.max(0, endNanos - System.nanoTime()) + graceNanos, TimeUnit.NANOSECONDS)) {
+            log.warn("Workers still running after the grace period, stopping them");
+            workers.shutdownNow();
+        }
+    }
+}
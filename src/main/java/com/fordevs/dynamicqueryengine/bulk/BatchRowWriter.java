@@ -0,0 +1,68 @@
+package com.fordevs.dynamicqueryengine.bulk;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Writes rows with a parameterized INSERT sent through JDBC {@code addBatch}/{@code executeBatch}.
+ * Drivers configured to rewrite batches turn each batch into multi-row inserts.
+ */
+public class BatchRowWriter implements RowWriter {
+
+    private final PreparedStatement statement;
+    private final int[] sqlTypes;
+    private final int batchSize;
+    private int pending;
+
+    /**
+     * Prepares the INSERT statement.
+     *
+     * @param connection     the connection to write with
+     * @param qualifiedTable the quoted target table
+     * @param quotedColumns  the quoted target columns
+     * @param sqlTypes       the {@link java.sql.Types} of the target columns
+     * @param batchSize      the number of rows per batch
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public BatchRowWriter(Connection connection, String qualifiedTable, List<String> quotedColumns, int[] sqlTypes, int batchSize) throws SQLException {
+        String placeholders = String.join(", ", Collections.nCopies(quotedColumns.size(), "?"));
+        this.statement = connection.prepareStatement(
+                "INSERT INTO " + qualifiedTable + " (" + String.join(", ", quotedColumns) + ") VALUES (" + placeholders + ")");
+        this.sqlTypes = sqlTypes;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public int write(String[] values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                statement.setNull(i + 1, sqlTypes[i]);
+            } else {
+                // Let the driver convert the text to the column type
+                statement.setObject(i + 1, values[i], sqlTypes[i]);
+            }
+        }
+        statement.addBatch();
+        pending++;
+        return pending >= batchSize ? flush() : 0;
+    }
+
+    @Override
+    public int flush() throws SQLException {
+        if (pending == 0) {
+            return 0;
+        }
+        statement.executeBatch();
+        int sent = pending;
+        pending = 0;
+        return sent;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        statement.close();
+    }
+}
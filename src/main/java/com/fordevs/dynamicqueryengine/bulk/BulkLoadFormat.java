@@ -0,0 +1,29 @@
+package com.fordevs.dynamicqueryengine.bulk;
+
+/**
+ * Input formats accepted by the bulk load endpoint.
+ */
+public enum BulkLoadFormat {
+    /** Comma separated values with a header row. */
+    CSV,
+    /** One JSON object per line. */
+    NDJSON;
+
+    /**
+     * Resolves the format from the request content type.
+     *
+     * @param contentType the content type of the request
+     * @return the format
+     * @throws IllegalArgumentException if the content type is not supported
+     */
+    public static BulkLoadFormat fromContentType(String contentType) {
+        String type = contentType == null ? "" : contentType.toLowerCase();
+        if (type.contains("csv")) {
+            return CSV;
+        }
+        if (type.contains("ndjson") || type.contains("jsonl") || type.contains("json-seq")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Unsupported content type for bulk load: " + contentType);
+    }
+}
@@ -0,0 +1,27 @@
+package com.fordevs.dynamicqueryengine.bulk;
+
+/**
+ * Commit strategies of a bulk load.
+ */
+public enum BulkLoadMode {
+    /** All rows are committed at the end, or none on failure. */
+    TRANSACTIONAL,
+    /** Rows are committed after every batch, so a failure keeps the batches already loaded. */
+    CHUNK;
+
+    /**
+     * Resolves the mode from a request parameter, case insensitive.
+     *
+     * @param mode the mode name
+     * @return the mode
+     * @throws IllegalArgumentException if the mode is not supported
+     */
+    public static BulkLoadMode fromString(String mode) {
+        for (BulkLoadMode value : values()) {
+            if (value.name().equalsIgnoreCase(mode)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported bulk load mode: " + mode);
+    }
+}
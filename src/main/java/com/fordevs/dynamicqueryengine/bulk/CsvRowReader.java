@@ -0,0 +1,131 @@
+package com.fordevs.dynamicqueryengine.bulk;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV with a header row. Quoted fields may contain commas, quotes and line breaks.
+ * An unquoted empty field is read as null, a quoted empty field as an empty string.
+ */
+public class CsvRowReader implements RowReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final List<String> columns;
+    private final StringBuilder field = new StringBuilder();
+    private int position;
+    private int limit;
+    private long line = 1;
+
+    public CsvRowReader(Reader reader) throws IOException {
+        this.reader = reader;
+        List<String> header = readRecord();
+        if (header == null || header.isEmpty()) {
+            throw new IOException("CSV input must start with a header row");
+        }
+        this.columns = List.copyOf(header.stream().map(name -> name == null ? "" : name.trim()).toList());
+    }
+
+    @Override
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    @Override
+    public String[] next() throws IOException {
+        List<String> record = readRecord();
+        // Skip blank lines between records
+        while (record != null && record.size() == 1 && record.get(0) == null) {
+            record = readRecord();
+        }
+        if (record == null) {
+            return null;
+        }
+        if (record.size() != columns.size()) {
+            throw new IOException("CSV line " + (line - 1) + " has " + record.size() + " fields, expected " + columns.size());
+        }
+        return record.toArray(new String[0]);
+    }
+
+    /**
+     * Reads one record, or null at the end of the input.
+     */
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> record = new ArrayList<>(columns == null ? 16 : columns.size());
+        while (true) {
+            field.setLength(0);
+            boolean quoted = false;
+            if (c == '"') {
+                quoted = true;
+                while (true) {
+                    c = read();
+                    if (c == -1) {
+                        throw new IOException("Unterminated quoted field at CSV line " + line);
+                    }
+                    if (c == '"') {
+                        c = read();
+                        if (c != '"') {
+                            break;
+                        }
+                    } else if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else {
+                while (c != ',' && c != '\n' && c != '\r' && c != -1) {
+                    field.append((char) c);
+                    c = read();
+                }
+            }
+            record.add(quoted || field.length() > 0 ? field.toString() : null);
+
+            if (c == ',') {
+                c = read();
+                continue;
+            }
+            if (c == '\r') {
+                c = read();
+                if (c != '\n' && c != -1) {
+                    position--;
+                }
+                line++;
+                return record;
+            }
+            if (c == '\n') {
+                line++;
+                return record;
+            }
+            if (c == -1) {
+                return record;
+            }
+            throw new IOException("Unexpected character after quoted field at CSV line " + line);
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,107 @@
+package com.fordevs.dynamicqueryengine.bulk;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads newline delimited JSON, one object per line.
+ * The columns are the fields of the first object, so it must list every column to load, with null values where needed.
+ * Fields missing from later objects are read as null; a field not present in the first object is rejected rather than
+ * silently dropped for the whole load.
+ */
+public class NdjsonRowReader implements RowReader {
+
+    // Decimals are kept exactly as sent, since a double would round DECIMAL and NUMERIC values
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+            .configure(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES, false)
+            .build();
+
+    private final BufferedReader reader;
+    private final List<String> columns = new ArrayList<>();
+    private final Set<String> columnSet = new HashSet<>();
+    private JsonNode pending;
+    private long line;
+
+    public NdjsonRowReader(Reader reader) throws IOException {
+        this.reader = new BufferedReader(reader, 64 * 1024);
+        this.pending = readObject();
+        if (pending == null) {
+            throw new IOException("NDJSON input must contain at least one object");
+        }
+        pending.fieldNames().forEachRemaining(columns::add);
+        columnSet.addAll(columns);
+    }
+
+    @Override
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    @Override
+    public String[] next() throws IOException {
+        JsonNode node = pending != null ? pending : readObject();
+        pending = null;
+        if (node == null) {
+            return null;
+        }
+
+        Iterator<String> names = node.fieldNames();
+        while (names.hasNext()) {
+            String name = names.next();
+            if (!columnSet.contains(name)) {
+                throw new IOException("NDJSON line " + line + " has field '" + name
+                        + "' not present in the first object, which must list every column to load");
+            }
+        }
+
+        String[] values = new String[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            JsonNode value = node.get(columns.get(i));
+            if (value == null || value.isNull()) {
+                values[i] = null;
+            } else if (value.isContainerNode()) {
+                values[i] = value.toString();
+            } else if (value.isBigDecimal()) {
+                values[i] = value.decimalValue().toPlainString();
+            } else {
+                values[i] = value.asText();
+            }
+        }
+        return values;
+    }
+
+    private JsonNode readObject() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            line++;
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+
+        JsonNode node = OBJECT_MAPPER.readTree(text);
+        if (!node.isObject()) {
+            throw new IOException("NDJSON line " + line + " is not a JSON object");
+        }
+        return node;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
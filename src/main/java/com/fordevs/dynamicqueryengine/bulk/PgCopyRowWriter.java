@@ -0,0 +1,120 @@
+package com.fordevs.dynamicqueryengine.bulk;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Writes rows through the PostgreSQL {@code COPY ... FROM STDIN} protocol, re-encoded as CSV.
+ * Rows are streamed in buffers; each chunk of {@code chunkSize} rows is a single COPY command.
+ */
+public class PgCopyRowWriter implements RowWriter {
+
+    private static final int BUFFER_CHARS = 64 * 1024;
+
+    private final CopyManager copyManager;
+    private final String copySql;
+    private final int chunkSize;
+    private final StringBuilder buffer = new StringBuilder(BUFFER_CHARS + 1024);
+    private CopyIn copyIn;
+    private int pending;
+
+    /**
+     * Prepares the COPY command.
+     *
+     * @param connection     the connection to write with, backed by the PostgreSQL driver
+     * @param qualifiedTable the quoted target table
+     * @param quotedColumns  the quoted target columns
+     * @param chunkSize      the number of rows per COPY command
+     * @throws SQLException if the connection is not a PostgreSQL connection
+     */
+    public PgCopyRowWriter(Connection connection, String qualifiedTable, List<String> quotedColumns, int chunkSize) throws SQLException {
+        this.copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        this.copySql = "COPY " + qualifiedTable + " (" + String.join(", ", quotedColumns) + ") FROM STDIN WITH (FORMAT csv)";
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public int write(String[] values) throws SQLException {
+        if (copyIn == null) {
+            copyIn = copyManager.copyIn(copySql);
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            appendCsv(buffer, values[i]);
+        }
+        buffer.append('\n');
+        pending++;
+
+        if (buffer.length() >= BUFFER_CHARS) {
+            sendBuffer();
+        }
+        return pending >= chunkSize ? flush() : 0;
+    }
+
+    @Override
+    public int flush() throws SQLException {
+        if (copyIn == null) {
+            return 0;
+        }
+        sendBuffer();
+        long rows = copyIn.endCopy();
+        copyIn = null;
+        pending = 0;
+        return (int) rows;
+    }
+
+    /**
+     * Appends a value in PostgreSQL CSV format: an unquoted empty field is NULL,
+     * anything that could be mistaken for a delimiter, NULL or end marker is quoted.
+     *
+     * @param buffer the buffer to append to
+     * @param value  the value, or null for NULL
+     */
+    static void appendCsv(StringBuilder buffer, String value) {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.isEmpty();
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r' || c == '\\';
+        }
+        if (!quote) {
+            buffer.append(value);
+            return;
+        }
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        buffer.append('"');
+    }
+
+    private void sendBuffer() throws SQLException {
+        if (buffer.length() > 0) {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (copyIn != null && copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+        copyIn = null;
+    }
+}
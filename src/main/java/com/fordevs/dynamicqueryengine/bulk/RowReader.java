@@ -0,0 +1,39 @@
+package com.fordevs.dynamicqueryengine.bulk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+/**
+ * Streams rows out of a bulk load request body, one at a time.
+ */
+public interface RowReader extends Closeable {
+
+    /**
+     * Gets the input column names, in the order of the values returned by {@link #next()}.
+     *
+     * @return the column names
+     */
+    List<String> getColumns();
+
+    /**
+     * Reads the next row. Missing and null values are returned as null.
+     *
+     * @return the row values, or null at the end of the input
+     * @throws IOException if the input cannot be read or parsed
+     */
+    String[] next() throws IOException;
+
+    /**
+     * Creates the reader for the given format.
+     *
+     * @param format the input format
+     * @param reader the request body
+     * @return the row reader
+     * @throws IOException if the header cannot be read
+     */
+    static RowReader create(BulkLoadFormat format, Reader reader) throws IOException {
+        return format == BulkLoadFormat.CSV ? new CsvRowReader(reader) : new NdjsonRowReader(reader);
+    }
+}
@@ -0,0 +1,29 @@
+package com.fordevs.dynamicqueryengine.bulk;
+
+import java.sql.SQLException;
+
+/**
+ * Writes bulk loaded rows to the database over a single connection.
+ */
+public interface RowWriter extends AutoCloseable {
+
+    /**
+     * Adds a row, sending it to the database once the pending batch is full.
+     *
+     * @param values the row values, aligned with the target columns
+     * @return the number of rows sent to the database by this call, 0 while batching
+     * @throws SQLException if the rows cannot be written
+     */
+    int write(String[] values) throws SQLException;
+
+    /**
+     * Sends the pending rows to the database.
+     *
+     * @return the number of rows sent
+     * @throws SQLException if the rows cannot be written
+     */
+    int flush() throws SQLException;
+
+    @Override
+    void close() throws SQLException;
+}
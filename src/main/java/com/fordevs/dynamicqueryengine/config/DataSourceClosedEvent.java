@@ -0,0 +1,10 @@
+package com.fordevs.dynamicqueryengine.config;
+
+/**
+ * Published by the {@link DynamicDataSourceManager} when a data source is closed, so caches keyed by its data source
+ * key can drop their entries.
+ *
+ * @param key the key of the closed data source
+ */
+public record DataSourceClosedEvent(String key) {
+}
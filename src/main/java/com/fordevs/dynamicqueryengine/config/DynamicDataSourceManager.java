@@ -1,14 +1,20 @@
 package com.fordevs.dynamicqueryengine.config;
 
+import com.fordevs.dynamicqueryengine.dialect.SqlDialect;
+import com.fordevs.dynamicqueryengine.dialect.SqlDialectRegistry;
 import com.fordevs.dynamicqueryengine.dto.DatabaseCredentials;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import javax.sql.DataSource;
-import java.util.HashMap;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -23,18 +29,17 @@ public class DynamicDataSourceManager {
     // Cache to store JdbcTemplate instances by their key
     private final Map<String, JdbcTemplate> dataSourceCache = new ConcurrentHashMap<>();
 
-    // Database drivers and URLs
-    private static final Map<String, String> DRIVER_MAP = new HashMap<>();
-    static {
-        DRIVER_MAP.put("postgresql", "org.postgresql.Driver");
-        DRIVER_MAP.put("mysql", "com.mysql.cj.jdbc.Driver");
-        DRIVER_MAP.put("mariadb", "org.mariadb.jdbc.Driver");
-        DRIVER_MAP.put("sqlserver", "com.microsoft.sqlserver.jdbc.SQLServerDriver");
-        DRIVER_MAP.put("oracle", "oracle.jdbc.OracleDriver");
-        DRIVER_MAP.put("db2", "com.ibm.db2.jcc.DB2Driver");
-        DRIVER_MAP.put("mongodb", "mongodb.jdbc.MongoDriver");
-        // Agregar más entradas según sea necesario
+    // Dialects providing the driver, URL and tuning of each database type
+    private final SqlDialectRegistry dialectRegistry;
+
+    // Notifies caches keyed by data source key when a data source is closed
+    private final ApplicationEventPublisher eventPublisher;
+
+    public DynamicDataSourceManager(SqlDialectRegistry dialectRegistry, ApplicationEventPublisher eventPublisher) {
+        this.dialectRegistry = dialectRegistry;
+        this.eventPublisher = eventPublisher;
     }
+
     /**
      * Creates and tests a new database connection using the provided credentials.
      *
@@ -48,7 +53,7 @@ public class DynamicDataSourceManager {
             return new JdbcTemplate(dataSource);
         });
 
-        if (testConnection(jdbcTemplate)) {
+        if (testConnection(jdbcTemplate, getDialect(credentials))) {
             DataSourceContextService.setCurrentTemplate(jdbcTemplate);
             return true;
         } else {
@@ -57,15 +62,46 @@ public class DynamicDataSourceManager {
         }
     }
 
+    /**
+     * Creates the data source for the provided credentials if needed and opens connections ahead of the first request,
+     * so it does not pay for the TCP, TLS and authentication handshakes.
+     *
+     * @param credentials the database credentials
+     * @param connections the number of connections to open, capped to the pool size
+     * @return the number of connections held by the pool afterwards
+     * @throws SQLException if a connection cannot be opened
+     */
+    public int prefillPool(DatabaseCredentials credentials, int connections) throws SQLException {
+        String key = generateKeyForUserDataSource(credentials);
+        JdbcTemplate jdbcTemplate = dataSourceCache.computeIfAbsent(key, k -> new JdbcTemplate(createDataSource(credentials)));
+        if (!(jdbcTemplate.getDataSource() instanceof HikariDataSource hikariDataSource)) {
+            return 0;
+        }
+
+        // Borrow the connections at the same time so the pool has to open each of them, then hand them back
+        List<Connection> borrowed = new ArrayList<>();
+        try {
+            for (int i = 0; i < Math.min(connections, hikariDataSource.getMaximumPoolSize()); i++) {
+                borrowed.add(hikariDataSource.getConnection());
+            }
+        } finally {
+            for (Connection connection : borrowed) {
+                connection.close();
+            }
+        }
+        return hikariDataSource.getHikariPoolMXBean().getTotalConnections();
+    }
+
     /**
      * Tests the connection using the provided JdbcTemplate.
      *
      * @param jdbcTemplate the JdbcTemplate to test
+     * @param dialect      the dialect of the database
      * @return true if the connection is successful, false otherwise
      */
-    private boolean testConnection(JdbcTemplate jdbcTemplate) {
+    private boolean testConnection(JdbcTemplate jdbcTemplate, SqlDialect dialect) {
         try {
-            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            jdbcTemplate.queryForObject(dialect.getValidationQuery(), Integer.class);
             return true;
         } catch (Exception e) {
             log.error("Error testing connection", e);
@@ -84,6 +120,16 @@ public class DynamicDataSourceManager {
         return dataSourceCache.getOrDefault(key, DataSourceContextService.getCurrentTemplate());
     }
 
+    /**
+     * Gets the SQL dialect for the database type of the provided credentials.
+     *
+     * @param credentials the database credentials
+     * @return the SQL dialect
+     */
+    public SqlDialect getDialect(DatabaseCredentials credentials) {
+        return dialectRegistry.getDialect(credentials.getDatabaseType());
+    }
+
     /**
      * Creates a DataSource using the provided credentials.
      *
@@ -93,13 +139,11 @@ public class DynamicDataSourceManager {
     private DataSource createDataSource(DatabaseCredentials credentials) {
         HikariConfig hikariConfig = new HikariConfig();
 
-        // Set the driver class name based on the database type
-        String driverClassName = DRIVER_MAP.get(credentials.getDatabaseType().toLowerCase());
-        if (driverClassName == null) {
-            throw new IllegalArgumentException("Unsupported database type: " + credentials.getDatabaseType());
-        }
-        hikariConfig.setDriverClassName(driverClassName);
-        hikariConfig.setJdbcUrl("jdbc:" + credentials.getDatabaseType() + "://" + credentials.getHost() + ":" + credentials.getPort() + "/" + credentials.getDatabaseName());
+        // Set the driver, URL and recommended driver properties based on the database type
+        SqlDialect dialect = getDialect(credentials);
+        hikariConfig.setDriverClassName(dialect.getDriverClassName());
+        hikariConfig.setJdbcUrl(dialect.buildJdbcUrl(credentials));
+        dialect.getDataSourceProperties().forEach(hikariConfig::addDataSourceProperty);
         hikariConfig.setUsername(credentials.getUserName());
         hikariConfig.setPassword(credentials.getPassword());
         return new HikariDataSource(hikariConfig);
@@ -130,6 +174,22 @@ public class DynamicDataSourceManager {
                 ((HikariDataSource) dataSource).close();
             }
         }
+        eventPublisher.publishEvent(new DataSourceClosedEvent(key));
+    }
+
+    /**
+     * Gets the connection pools of all cached data sources, used to monitor pool usage.
+     *
+     * @return the cached connection pools
+     */
+    public List<HikariDataSource> getConnectionPools() {
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (JdbcTemplate jdbcTemplate : dataSourceCache.values()) {
+            if (jdbcTemplate.getDataSource() instanceof HikariDataSource hikariDataSource) {
+                pools.add(hikariDataSource);
+            }
+        }
+        return pools;
     }
 
     /**
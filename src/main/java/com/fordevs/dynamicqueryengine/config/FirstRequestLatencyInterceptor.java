@@ -0,0 +1,40 @@
+package com.fordevs.dynamicqueryengine.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Interceptor measuring the requests of each endpoint, so {@link StartupMetrics} can report the latency of the first one.
+ */
+@Component
+public class FirstRequestLatencyInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = FirstRequestLatencyInterceptor.class.getName() + ".start";
+
+    private final StartupMetrics startupMetrics;
+
+    public FirstRequestLatencyInterceptor(StartupMetrics startupMetrics) {
+        this.startupMetrics = startupMetrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async requests come back through the interceptor on dispatch, keep the original start
+        if (request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (start instanceof Long startNanos && pattern != null) {
+            startupMetrics.recordRequest(request.getMethod() + " " + pattern, (System.nanoTime() - startNanos) / 1_000_000.0);
+        }
+    }
+}
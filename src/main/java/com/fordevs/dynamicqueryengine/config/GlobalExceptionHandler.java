@@ -1,5 +1,7 @@
 package com.fordevs.dynamicqueryengine.config;
 
+import com.fordevs.dynamicqueryengine.scheduling.AdmissionRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -11,6 +13,19 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    /**
+     * Handles requests rejected by the admission scheduler, asking the client to retry later.
+     *
+     * @param e the exception
+     * @return ResponseEntity with error message and status code
+     */
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<String> handleAdmissionRejected(AdmissionRejectedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Request not admitted: " + e.getMessage());
+    }
+
     /**
      * Handles all exceptions and provides a generic error response.
      *
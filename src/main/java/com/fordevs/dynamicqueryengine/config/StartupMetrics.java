@@ -0,0 +1,69 @@
+package com.fordevs.dynamicqueryengine.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the cold start metrics of the application: the time until it is ready to serve, the outcome of the
+ * warm-up of each data source and the latency of the first request of each endpoint.
+ */
+@Slf4j
+@Component
+public class StartupMetrics {
+
+    private volatile long readyMillis = -1;
+    private final Map<String, Object> warmups = new ConcurrentHashMap<>();
+    private final Map<String, Double> firstRequestMillis = new ConcurrentHashMap<>();
+
+    /**
+     * Records the time from JVM start, which includes class loading before Spring starts, until the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        readyMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        log.info("Application ready {} ms after JVM start", readyMillis);
+    }
+
+    /**
+     * Records the outcome of the warm-up of a data source.
+     *
+     * @param dataSource the data source description, without credentials
+     * @param result     the outcome
+     */
+    public void recordWarmup(String dataSource, Map<String, Object> result) {
+        warmups.put(dataSource, result);
+    }
+
+    /**
+     * Records the latency of a request if it is the first one of its endpoint.
+     *
+     * @param endpoint      the HTTP method and path pattern
+     * @param latencyMillis the latency
+     */
+    public void recordRequest(String endpoint, double latencyMillis) {
+        if (firstRequestMillis.putIfAbsent(endpoint, latencyMillis) == null) {
+            log.info("First request to {} took {} ms", endpoint, String.format("%.1f", latencyMillis));
+        }
+    }
+
+    /**
+     * Gets the time to ready, the warm-up outcomes and the first request latencies.
+     *
+     * @return the statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("readyMs", readyMillis);
+        result.put("uptimeMs", ManagementFactory.getRuntimeMXBean().getUptime());
+        result.put("warmup", new LinkedHashMap<>(warmups));
+        result.put("firstRequestMs", new LinkedHashMap<>(firstRequestMillis));
+        return result;
+    }
+}
@@ -0,0 +1,50 @@
+package com.fordevs.dynamicqueryengine.config;
+
+import com.fordevs.dynamicqueryengine.dto.DatabaseCredentials;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warm-up manifest, bound from the {@code dqe.warmup} properties: the data sources whose pools and metadata
+ * are loaded right after startup, before the first request needs them.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "dqe.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+
+    // Data sources warmed up at the same time
+    private int parallelism = 4;
+
+    // Time allowed for the whole warm-up, the remaining data sources are left cold
+    private long timeoutMillis = 60_000;
+
+    private List<DataSourceEntry> dataSources = new ArrayList<>();
+
+    /**
+     * One data source of the manifest.
+     */
+    @Data
+    public static class DataSourceEntry {
+        private String databaseType;
+        private String host;
+        private int port;
+        private String databaseName;
+        private String userName;
+        private String password;
+        // Connections opened ahead of the first request
+        private int connections = 2;
+        // Loads the table list and the columns of every table into the metadata cache
+        private boolean preloadMetadata = true;
+
+        public DatabaseCredentials toCredentials() {
+            return new DatabaseCredentials(databaseType, host, port, databaseName, userName, password);
+        }
+    }
+}
@@ -2,14 +2,21 @@ package com.fordevs.dynamicqueryengine.config;
 
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
- * Configuration class to set up CORS mappings for the application.
+ * Configuration class to set up CORS mappings and interceptors for the application.
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final FirstRequestLatencyInterceptor firstRequestLatencyInterceptor;
+
+    public WebConfig(FirstRequestLatencyInterceptor firstRequestLatencyInterceptor) {
+        this.firstRequestLatencyInterceptor = firstRequestLatencyInterceptor;
+    }
+
     /**
      * Configures CORS mappings for the application.
      *
@@ -22,4 +29,14 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedMethods("GET", "POST", "PUT", "DELETE")
                 .allowedHeaders("*");
     }
+
+    /**
+     * Registers the interceptor measuring the first request of each endpoint.
+     *
+     * @param registry the InterceptorRegistry to configure
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(firstRequestLatencyInterceptor);
+    }
 }
@@ -1,12 +1,22 @@
 package com.fordevs.dynamicqueryengine.controller;
 
+import com.fordevs.dynamicqueryengine.config.StartupMetrics;
+import com.fordevs.dynamicqueryengine.dto.BulkLoadResult;
+import com.fordevs.dynamicqueryengine.dto.ChangeBatch;
 import com.fordevs.dynamicqueryengine.dto.DatabaseCredentials;
+import com.fordevs.dynamicqueryengine.scheduling.AdmissionScheduler;
+import com.fordevs.dynamicqueryengine.service.BulkLoadService;
 import com.fordevs.dynamicqueryengine.service.DatabaseService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -21,6 +31,16 @@ public class DatabaseNavigatorController {
 
     @Autowired
     private DatabaseService databaseService;
+
+    @Autowired
+    private AdmissionScheduler admissionScheduler;
+
+    @Autowired
+    private StartupMetrics startupMetrics;
+
+    @Autowired
+    private BulkLoadService bulkLoadService;
+
     /**
      * Connects to the database using dynamic data sources.
      *
@@ -69,6 +89,84 @@ public class DatabaseNavigatorController {
         return databaseService.getTableData(tableName, page, size);
     }
 
+    /**
+     * Bulk loads rows into a table from a CSV (with header) or NDJSON request body.
+     *
+     * @param tableName   The name of the table.
+     * @param contentType The content type of the body.
+     * @param mode        The commit mode: transactional (all or nothing) or chunk (commit every batch).
+     * @param batchSize   The number of rows per batch.
+     * @param loadId      The id to follow the load under at /bulk/loads/{loadId}, generated when omitted.
+     * @param body        The request body, streamed.
+     * @return ResponseEntity with the number of rows loaded and the throughput.
+     */
+    @PostMapping(value = "/data/{tableName}", consumes = {"text/csv", "application/x-ndjson", "application/ndjson"})
+    public ResponseEntity<BulkLoadResult> bulkLoad(
+            @PathVariable String tableName,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestParam(defaultValue = "transactional") String mode,
+            @RequestParam(defaultValue = "5000") int batchSize,
+            @RequestParam(required = false) String loadId,
+            InputStream body) {
+        return databaseService.bulkLoad(tableName, contentType, mode, batchSize, loadId, body);
+    }
+
+    /**
+     * Gets the progress of the running bulk loads and of the most recently finished ones.
+     *
+     * @return ResponseEntity with the rows read, loaded and committed, the throughput and the status of each load.
+     */
+    @GetMapping("/bulk/loads")
+    public ResponseEntity<List<Map<String, Object>>> getBulkLoads() {
+        return ResponseEntity.ok(bulkLoadService.getLoads());
+    }
+
+    /**
+     * Gets the progress of one bulk load.
+     *
+     * @param loadId The load id, as sent to or returned by the bulk load.
+     * @return ResponseEntity with the progress, or 404 if the load is unknown.
+     */
+    @GetMapping("/bulk/loads/{loadId}")
+    public ResponseEntity<Map<String, Object>> getBulkLoad(@PathVariable String loadId) {
+        Map<String, Object> progress = bulkLoadService.getLoad(loadId);
+        return progress == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(progress);
+    }
+
+    /**
+     * Streams the rows added to a table past a watermark as Server-Sent Events named "rows".
+     *
+     * @param tableName       The name of the table.
+     * @param watermarkColumn The monotonic column, such as an id or an update timestamp.
+     * @param after           The last watermark seen, omitted to receive new rows only.
+     * @return ResponseEntity with the event stream.
+     */
+    @GetMapping(value = "/feed/{tableName}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(
+            @PathVariable String tableName,
+            @RequestParam String watermarkColumn,
+            @RequestParam(required = false) String after) {
+        return databaseService.streamChanges(tableName, watermarkColumn, after);
+    }
+
+    /**
+     * Long polls for the rows added to a table past a watermark.
+     *
+     * @param tableName       The name of the table.
+     * @param watermarkColumn The monotonic column, such as an id or an update timestamp.
+     * @param after           The last watermark seen, omitted to receive new rows only.
+     * @param timeoutMs       The time to wait for new rows before returning an empty batch.
+     * @return The new rows and the watermark to send in the next poll.
+     */
+    @GetMapping("/feed/{tableName}/poll")
+    public DeferredResult<ResponseEntity<ChangeBatch>> pollChanges(
+            @PathVariable String tableName,
+            @RequestParam String watermarkColumn,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "30000") long timeoutMs) {
+        return databaseService.pollChanges(tableName, watermarkColumn, after, timeoutMs);
+    }
+
     /**
      * Executes a SQL query.
      *
@@ -79,4 +177,24 @@ public class DatabaseNavigatorController {
     public ResponseEntity<List<Map<String, Object>>> executeQuery(@RequestBody String query) {
         return databaseService.executeQuery(query);
     }
+
+    /**
+     * Gets the admission scheduler statistics: queue depth, running requests and wait times per workload class.
+     *
+     * @return ResponseEntity with the statistics.
+     */
+    @GetMapping("/scheduler/stats")
+    public ResponseEntity<Map<String, Object>> getSchedulerStats() {
+        return ResponseEntity.ok(admissionScheduler.getStats());
+    }
+
+    /**
+     * Gets the cold start statistics: time to ready, warm-up outcome per data source and first request latency per endpoint.
+     *
+     * @return ResponseEntity with the statistics.
+     */
+    @GetMapping("/startup/stats")
+    public ResponseEntity<Map<String, Object>> getStartupStats() {
+        return ResponseEntity.ok(startupMetrics.getStats());
+    }
 }
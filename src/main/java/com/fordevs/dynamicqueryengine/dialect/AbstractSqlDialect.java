@@ -0,0 +1,82 @@
+package com.fordevs.dynamicqueryengine.dialect;
+
+import com.fordevs.dynamicqueryengine.dto.DatabaseCredentials;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.OptionalLong;
+
+/**
+ * Base class for dialects with helpers shared by most databases.
+ */
+public abstract class AbstractSqlDialect implements SqlDialect {
+
+    /**
+     * Builds the common {@code jdbc:<prefix>://host:port/database} URL.
+     *
+     * @param prefix      the URL prefix after {@code jdbc:}
+     * @param credentials the database credentials
+     * @return the JDBC URL
+     */
+    protected String buildHostPortUrl(String prefix, DatabaseCredentials credentials) {
+        return "jdbc:" + prefix + "://" + credentials.getHost() + ":" + credentials.getPort() + "/" + credentials.getDatabaseName();
+    }
+
+    /**
+     * Uses the standard {@code FETCH FIRST} clause, overridden by databases without it.
+     */
+    @Override
+    public PagedQuery selectAfter(String qualifiedTable, String quotedColumn, Object watermark, int limit) {
+        String sql = "SELECT * FROM " + qualifiedTable + afterCondition(quotedColumn, watermark) + " ORDER BY " + quotedColumn + " FETCH FIRST ? ROWS ONLY";
+        return watermark == null ? new PagedQuery(sql, limit) : new PagedQuery(sql, watermark, limit);
+    }
+
+    /**
+     * Builds the WHERE clause selecting the rows past a watermark, with one parameter unless the watermark is null.
+     *
+     * @param quotedColumn the quoted watermark column
+     * @param watermark    the last watermark seen, or null
+     * @return the WHERE clause
+     */
+    protected String afterCondition(String quotedColumn, Object watermark) {
+        return watermark == null ? " WHERE " + quotedColumn + " IS NOT NULL" : " WHERE " + quotedColumn + " > ?";
+    }
+
+    /**
+     * Runs a catalog statistics query taking the schema and the table name as parameters.
+     * The schema comes from the qualified table name, or from the default schema when missing.
+     *
+     * @param connection    the open connection
+     * @param sql           the statistics query
+     * @param defaultSchema the schema to use for unqualified names
+     * @param tableName     the unquoted, possibly schema qualified, table name
+     * @return the row count, or empty if the table has no statistics
+     * @throws SQLException if the query fails
+     */
+    protected OptionalLong queryCatalogRowCount(Connection connection, String sql, String defaultSchema, String tableName) throws SQLException {
+        String schema = defaultSchema;
+        String table = tableName;
+        int dot = tableName.lastIndexOf('.');
+        if (dot > 0) {
+            schema = tableName.substring(0, dot);
+            table = tableName.substring(dot + 1);
+        }
+
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, schema);
+            ps.setString(2, table);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    long count = rs.getLong(1);
+                    // Negative or null values mean the table was never analyzed
+                    if (!rs.wasNull() && count >= 0) {
+                        return OptionalLong.of(count);
+                    }
+                }
+            }
+        }
+        return OptionalLong.empty();
+    }
+}
@@ -0,0 +1,66 @@
+package com.fordevs.dynamicqueryengine.dialect;
+
+import com.fordevs.dynamicqueryengine.dto.DatabaseCredentials;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Dialect for Db2 for Linux, UNIX and Windows 11.1 and later.
+ */
+@Component
+public class Db2Dialect extends AbstractSqlDialect {
+
+    // Cardinality collected by RUNSTATS, -1 when never collected
+    private static final String ROW_ESTIMATE_SQL =
+            "SELECT CARD FROM SYSCAT.TABLES WHERE TABSCHEMA = ? AND TABNAME = ?";
+
+    @Override
+    public String getDatabaseType() {
+        return "db2";
+    }
+
+    @Override
+    public String getDriverClassName() {
+        return "com.ibm.db2.jcc.DB2Driver";
+    }
+
+    @Override
+    public String buildJdbcUrl(DatabaseCredentials credentials) {
+        return buildHostPortUrl("db2", credentials);
+    }
+
+    @Override
+    public PagedQuery selectPage(String qualifiedTable, int limit, int offset) {
+        if (offset == 0) {
+            return new PagedQuery("SELECT * FROM " + qualifiedTable + " FETCH FIRST ? ROWS ONLY", limit);
+        }
+        return new PagedQuery("SELECT * FROM " + qualifiedTable + " OFFSET ? ROWS FETCH FIRST ? ROWS ONLY", offset, limit);
+    }
+
+    @Override
+    public String getValidationQuery() {
+        return "SELECT 1 FROM SYSIBM.SYSDUMMY1";
+    }
+
+    @Override
+    public Map<String, String> getDataSourceProperties() {
+        return Map.of(
+                "progressiveStreaming", "1",
+                "fullyMaterializeLobData", "false");
+    }
+
+    @Override
+    public String resolveDefaultSchema(Connection connection, DatabaseCredentials credentials) throws SQLException {
+        String schema = connection.getSchema();
+        return schema != null ? schema.trim() : credentials.getUserName().toUpperCase();
+    }
+
+    @Override
+    public OptionalLong estimateRowCount(Connection connection, DatabaseCredentials credentials, String tableName) throws SQLException {
+        return queryCatalogRowCount(connection, ROW_ESTIMATE_SQL, resolveDefaultSchema(connection, credentials), tableName);
+    }
+}
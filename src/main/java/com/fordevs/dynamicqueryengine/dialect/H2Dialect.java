@@ -0,0 +1,62 @@
+package com.fordevs.dynamicqueryengine.dialect;
+
+import com.fordevs.dynamicqueryengine.dto.DatabaseCredentials;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.regex.Pattern;
+
+/**
+ * Dialect for H2, used for local testing and the load test only.
+ * It is registered when {@code dqe.dialect.h2.enabled=true}, since H2 URL settings such as {@code INIT} run
+ * arbitrary SQL and Java on the server. A database name such as {@code mem:tenant1} opens an in-memory database,
+ * a plain name such as {@code tenant1} is reached through the H2 TCP server at host and port; nothing else is accepted.
+ * An AOT build decides the condition when the jar is built, not when it runs.
+ */
+@Component
+@ConditionalOnProperty(name = "dqe.dialect.h2.enabled", havingValue = "true")
+public class H2Dialect extends AbstractSqlDialect {
+
+    // Plain names only, so no setting, file path or other protocol can reach the URL
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_-]+");
+    private static final Pattern HOST = Pattern.compile("[A-Za-z0-9.-]+");
+
+    @Override
+    public String getDatabaseType() {
+        return "h2";
+    }
+
+    @Override
+    public String getDriverClassName() {
+        return "org.h2.Driver";
+    }
+
+    @Override
+    public String buildJdbcUrl(DatabaseCredentials credentials) {
+        String databaseName = credentials.getDatabaseName();
+        if (databaseName != null && databaseName.startsWith("mem:") && NAME.matcher(databaseName.substring(4)).matches()) {
+            // Keep in-memory databases alive between pooled connections
+            return "jdbc:h2:" + databaseName + ";DB_CLOSE_DELAY=-1";
+        }
+        if (databaseName == null || !NAME.matcher(databaseName).matches()) {
+            throw new IllegalArgumentException("Unsupported H2 database name, expected mem:<name> or <name>: " + databaseName);
+        }
+        if (credentials.getHost() == null || !HOST.matcher(credentials.getHost()).matches()) {
+            throw new IllegalArgumentException("Invalid H2 host: " + credentials.getHost());
+        }
+        return "jdbc:h2:tcp://" + credentials.getHost() + ":" + credentials.getPort() + "/" + databaseName;
+    }
+
+    @Override
+    public PagedQuery selectPage(String qualifiedTable, int limit, int offset) {
+        return new PagedQuery("SELECT * FROM " + qualifiedTable + " LIMIT ? OFFSET ?", limit, offset);
+    }
+
+    @Override
+    public String resolveDefaultSchema(Connection connection, DatabaseCredentials credentials) throws SQLException {
+        String schema = connection.getSchema();
+        return schema != null ? schema : "PUBLIC";
+    }
+}
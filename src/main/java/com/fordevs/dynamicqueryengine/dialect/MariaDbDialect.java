@@ -0,0 +1,30 @@
+package com.fordevs.dynamicqueryengine.dialect;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Dialect for MariaDB, sharing the MySQL syntax with its own driver and URL prefix.
+ */
+@Component
+public class MariaDbDialect extends MySqlDialect {
+
+    @Override
+    public String getDatabaseType() {
+        return "mariadb";
+    }
+
+    @Override
+    public String getDriverClassName() {
+        return "org.mariadb.jdbc.Driver";
+    }
+
+    @Override
+    public Map<String, String> getDataSourceProperties() {
+        return Map.of(
+                "cachePrepStmts", "true",
+                "prepStmtCacheSize", "250",
+                "useServerPrepStmts", "true");
+    }
+}
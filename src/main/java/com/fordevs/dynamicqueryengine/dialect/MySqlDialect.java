@@ -0,0 +1,81 @@
+package com.fordevs.dynamicqueryengine.dialect;
+
+import com.fordevs.dynamicqueryengine.dto.DatabaseCredentials;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Dialect for MySQL. Databases are exposed as JDBC catalogs rather than schemas.
+ */
+@Component
+public class MySqlDialect extends AbstractSqlDialect {
+
+    // InnoDB keeps an approximate row count per table in the data dictionary
+    private static final String ROW_ESTIMATE_SQL =
+            "SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ?";
+
+    @Override
+    public String getDatabaseType() {
+        return "mysql";
+    }
+
+    @Override
+    public String getDriverClassName() {
+        return "com.mysql.cj.jdbc.Driver";
+    }
+
+    @Override
+    public String buildJdbcUrl(DatabaseCredentials credentials) {
+        return buildHostPortUrl(getDatabaseType(), credentials);
+    }
+
+    @Override
+    public PagedQuery selectPage(String qualifiedTable, int limit, int offset) {
+        return new PagedQuery("SELECT * FROM " + qualifiedTable + " LIMIT ? OFFSET ?", limit, offset);
+    }
+
+    @Override
+    public PagedQuery selectAfter(String qualifiedTable, String quotedColumn, Object watermark, int limit) {
+        String sql = "SELECT * FROM " + qualifiedTable + afterCondition(quotedColumn, watermark) + " ORDER BY " + quotedColumn + " LIMIT ?";
+        return watermark == null ? new PagedQuery(sql, limit) : new PagedQuery(sql, watermark, limit);
+    }
+
+    @Override
+    public Map<String, String> getDataSourceProperties() {
+        return Map.of(
+                "cachePrepStmts", "true",
+                "prepStmtCacheSize", "250",
+                "prepStmtCacheSqlLimit", "2048",
+                "useServerPrepStmts", "true",
+                "useLocalSessionState", "true",
+                "cacheResultSetMetadata", "true",
+                "cacheServerConfiguration", "true",
+                "elideSetAutoCommits", "true",
+                "maintainTimeStats", "false",
+                "rewriteBatchedStatements", "true");
+    }
+
+    @Override
+    public String quoteIdentifier(String identifier) {
+        return "`" + identifier.replace("`", "``") + "`";
+    }
+
+    @Override
+    public String resolveDefaultCatalog(Connection connection) throws SQLException {
+        return connection.getCatalog();
+    }
+
+    @Override
+    public String resolveDefaultSchema(Connection connection, DatabaseCredentials credentials) {
+        return null;
+    }
+
+    @Override
+    public OptionalLong estimateRowCount(Connection connection, DatabaseCredentials credentials, String tableName) throws SQLException {
+        return queryCatalogRowCount(connection, ROW_ESTIMATE_SQL, resolveDefaultCatalog(connection), tableName);
+    }
+}
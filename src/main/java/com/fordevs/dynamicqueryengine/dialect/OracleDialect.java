@@ -0,0 +1,66 @@
+package com.fordevs.dynamicqueryengine.dialect;
+
+import com.fordevs.dynamicqueryengine.dto.DatabaseCredentials;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Dialect for Oracle Database 12c and later. The database name is used as the service name.
+ */
+@Component
+public class OracleDialect extends AbstractSqlDialect {
+
+    // Statistics gathered by DBMS_STATS, null when never gathered
+    private static final String ROW_ESTIMATE_SQL =
+            "SELECT NUM_ROWS FROM ALL_TABLES WHERE OWNER = ? AND TABLE_NAME = ?";
+
+    @Override
+    public String getDatabaseType() {
+        return "oracle";
+    }
+
+    @Override
+    public String getDriverClassName() {
+        return "oracle.jdbc.OracleDriver";
+    }
+
+    @Override
+    public String buildJdbcUrl(DatabaseCredentials credentials) {
+        return "jdbc:oracle:thin:@//" + credentials.getHost() + ":" + credentials.getPort() + "/" + credentials.getDatabaseName();
+    }
+
+    @Override
+    public PagedQuery selectPage(String qualifiedTable, int limit, int offset) {
+        if (offset == 0) {
+            return new PagedQuery("SELECT * FROM " + qualifiedTable + " FETCH FIRST ? ROWS ONLY", limit);
+        }
+        return new PagedQuery("SELECT * FROM " + qualifiedTable + " OFFSET ? ROWS FETCH NEXT ? ROWS ONLY", offset, limit);
+    }
+
+    @Override
+    public String getValidationQuery() {
+        return "SELECT 1 FROM DUAL";
+    }
+
+    @Override
+    public Map<String, String> getDataSourceProperties() {
+        return Map.of(
+                "oracle.jdbc.implicitStatementCacheSize", "256",
+                "defaultRowPrefetch", "100");
+    }
+
+    @Override
+    public String resolveDefaultSchema(Connection connection, DatabaseCredentials credentials) throws SQLException {
+        String schema = connection.getSchema();
+        return schema != null ? schema : credentials.getUserName().toUpperCase();
+    }
+
+    @Override
+    public OptionalLong estimateRowCount(Connection connection, DatabaseCredentials credentials, String tableName) throws SQLException {
+        return queryCatalogRowCount(connection, ROW_ESTIMATE_SQL, resolveDefaultSchema(connection, credentials), tableName);
+    }
+}
@@ -0,0 +1,10 @@
+package com.fordevs.dynamicqueryengine.dialect;
+
+/**
+ * A paged SELECT statement together with the parameters to bind, in order.
+ *
+ * @param sql  the SQL statement
+ * @param args the parameters of the statement
+ */
+public record PagedQuery(String sql, Object... args) {
+}
@@ -0,0 +1,65 @@
+package com.fordevs.dynamicqueryengine.dialect;
+
+import com.fordevs.dynamicqueryengine.dto.DatabaseCredentials;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Dialect for PostgreSQL.
+ */
+@Component
+public class PostgreSqlDialect extends AbstractSqlDialect {
+
+    // Planner estimate kept up to date by VACUUM and ANALYZE
+    private static final String ROW_ESTIMATE_SQL =
+            "SELECT c.reltuples::bigint FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace "
+                    + "WHERE n.nspname = ? AND c.relname = ?";
+
+    @Override
+    public String getDatabaseType() {
+        return "postgresql";
+    }
+
+    @Override
+    public String getDriverClassName() {
+        return "org.postgresql.Driver";
+    }
+
+    @Override
+    public String buildJdbcUrl(DatabaseCredentials credentials) {
+        return buildHostPortUrl("postgresql", credentials);
+    }
+
+    @Override
+    public PagedQuery selectPage(String qualifiedTable, int limit, int offset) {
+        return new PagedQuery("SELECT * FROM " + qualifiedTable + " LIMIT ? OFFSET ?", limit, offset);
+    }
+
+    @Override
+    public Map<String, String> getDataSourceProperties() {
+        return Map.of(
+                "preparedStatementCacheQueries", "256",
+                "reWriteBatchedInserts", "true",
+                "tcpKeepAlive", "true");
+    }
+
+    @Override
+    public boolean supportsCopyIn() {
+        return true;
+    }
+
+    @Override
+    public String resolveDefaultSchema(Connection connection, DatabaseCredentials credentials) throws SQLException {
+        String schema = connection.getSchema();
+        return schema != null ? schema : "public";
+    }
+
+    @Override
+    public OptionalLong estimateRowCount(Connection connection, DatabaseCredentials credentials, String tableName) throws SQLException {
+        return queryCatalogRowCount(connection, ROW_ESTIMATE_SQL, resolveDefaultSchema(connection, credentials), tableName);
+    }
+}
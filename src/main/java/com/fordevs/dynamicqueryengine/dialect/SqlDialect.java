@@ -0,0 +1,167 @@
+package com.fordevs.dynamicqueryengine.dialect;
+
+import com.fordevs.dynamicqueryengine.dto.DatabaseCredentials;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * SPI describing the database specific parts of the engine.
+ * Each supported database type provides one implementation, registered as a Spring bean
+ * and looked up through {@link SqlDialectRegistry}.
+ */
+public interface SqlDialect {
+
+    /**
+     * Gets the database type handled by this dialect, as sent in {@link DatabaseCredentials#getDatabaseType()}.
+     *
+     * @return the lower case database type
+     */
+    String getDatabaseType();
+
+    /**
+     * Gets the JDBC driver class name for this database.
+     *
+     * @return the driver class name
+     */
+    String getDriverClassName();
+
+    /**
+     * Builds the JDBC URL for the provided credentials.
+     *
+     * @param credentials the database credentials
+     * @return the JDBC URL
+     */
+    String buildJdbcUrl(DatabaseCredentials credentials);
+
+    /**
+     * Builds a query returning one page of the given table.
+     *
+     * @param qualifiedTable the already quoted table name
+     * @param limit          the maximum number of rows to return
+     * @param offset         the number of rows to skip
+     * @return the paged query and its parameters
+     */
+    PagedQuery selectPage(String qualifiedTable, int limit, int offset);
+
+    /**
+     * Builds a query returning the rows of a table past a watermark, in watermark order.
+     *
+     * @param qualifiedTable the already quoted table name
+     * @param quotedColumn   the already quoted watermark column
+     * @param watermark      the last watermark seen, or null to start from the lowest one
+     * @param limit          the maximum number of rows to return
+     * @return the query and its parameters
+     */
+    PagedQuery selectAfter(String qualifiedTable, String quotedColumn, Object watermark, int limit);
+
+    /**
+     * Builds a query returning all the rows of a table at one watermark. Used to complete a batch of
+     * {@link #selectAfter} that stopped partway through rows sharing its last watermark, so advancing past
+     * that watermark skips none of them.
+     *
+     * @param qualifiedTable the already quoted table name
+     * @param quotedColumn   the already quoted watermark column
+     * @param watermark      the watermark
+     * @return the query and its parameters
+     */
+    default PagedQuery selectAt(String qualifiedTable, String quotedColumn, Object watermark) {
+        return new PagedQuery("SELECT * FROM " + qualifiedTable + " WHERE " + quotedColumn + " = ?", watermark);
+    }
+
+    /**
+     * Gets the query used to check that a connection is alive.
+     *
+     * @return the validation query
+     */
+    default String getValidationQuery() {
+        return "SELECT 1";
+    }
+
+    /**
+     * Gets the driver properties recommended for this database, applied to every pool created for it.
+     *
+     * @return the driver properties
+     */
+    default Map<String, String> getDataSourceProperties() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Tells whether bulk loads can stream rows through the PostgreSQL {@code COPY ... FROM STDIN} protocol
+     * instead of batched INSERT statements.
+     *
+     * @return true if COPY is supported
+     */
+    default boolean supportsCopyIn() {
+        return false;
+    }
+
+    /**
+     * Quotes a single identifier, escaping any embedded quote character.
+     *
+     * @param identifier the identifier to quote
+     * @return the quoted identifier
+     */
+    default String quoteIdentifier(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Quotes a possibly schema qualified name such as {@code schema.table}, part by part.
+     *
+     * @param name the name to quote
+     * @return the quoted name
+     */
+    default String quoteQualifiedName(String name) {
+        String[] parts = name.split("\\.");
+        StringBuilder quoted = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                quoted.append('.');
+            }
+            quoted.append(quoteIdentifier(parts[i]));
+        }
+        return quoted.toString();
+    }
+
+    /**
+     * Resolves the catalog used when browsing metadata.
+     *
+     * @param connection the open connection
+     * @return the catalog, or null to not filter by catalog
+     * @throws SQLException if the catalog cannot be read
+     */
+    default String resolveDefaultCatalog(Connection connection) throws SQLException {
+        return null;
+    }
+
+    /**
+     * Resolves the schema used when browsing metadata.
+     *
+     * @param connection  the open connection
+     * @param credentials the credentials used to open the connection
+     * @return the schema, or null to not filter by schema
+     * @throws SQLException if the schema cannot be read
+     */
+    default String resolveDefaultSchema(Connection connection, DatabaseCredentials credentials) throws SQLException {
+        return connection.getSchema();
+    }
+
+    /**
+     * Estimates the number of rows of a table from the database catalog statistics,
+     * avoiding a full {@code COUNT(*)} scan.
+     *
+     * @param connection  the open connection
+     * @param credentials the credentials used to open the connection
+     * @param tableName   the unquoted, possibly schema qualified, table name
+     * @return the estimated row count, or empty if no statistics are available
+     * @throws SQLException if the statistics cannot be read
+     */
+    default OptionalLong estimateRowCount(Connection connection, DatabaseCredentials credentials, String tableName) throws SQLException {
+        return OptionalLong.empty();
+    }
+}
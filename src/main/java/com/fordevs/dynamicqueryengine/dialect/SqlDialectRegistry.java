@@ -0,0 +1,38 @@
+package com.fordevs.dynamicqueryengine.dialect;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the available SQL dialects, indexed by database type.
+ */
+@Component
+public class SqlDialectRegistry {
+
+    // Dialects by their lower case database type
+    private final Map<String, SqlDialect> dialects = new ConcurrentHashMap<>();
+
+    public SqlDialectRegistry(List<SqlDialect> dialects) {
+        for (SqlDialect dialect : dialects) {
+            this.dialects.put(dialect.getDatabaseType(), dialect);
+        }
+    }
+
+    /**
+     * Gets the dialect for the specified database type.
+     *
+     * @param databaseType the database type, case insensitive
+     * @return the dialect
+     * @throws IllegalArgumentException if the database type is not supported
+     */
+    public SqlDialect getDialect(String databaseType) {
+        SqlDialect dialect = databaseType == null ? null : dialects.get(databaseType.toLowerCase());
+        if (dialect == null) {
+            throw new IllegalArgumentException("Unsupported database type: " + databaseType);
+        }
+        return dialect;
+    }
+}
@@ -0,0 +1,76 @@
+package com.fordevs.dynamicqueryengine.dialect;
+
+import com.fordevs.dynamicqueryengine.dto.DatabaseCredentials;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Dialect for Microsoft SQL Server 2012 and later.
+ */
+@Component
+public class SqlServerDialect extends AbstractSqlDialect {
+
+    // Row counts of the heap or clustered index, maintained by the storage engine
+    private static final String ROW_ESTIMATE_SQL =
+            "SELECT SUM(p.row_count) FROM sys.dm_db_partition_stats p "
+                    + "JOIN sys.objects o ON o.object_id = p.object_id "
+                    + "JOIN sys.schemas s ON s.schema_id = o.schema_id "
+                    + "WHERE s.name = ? AND o.name = ? AND p.index_id IN (0, 1)";
+
+    @Override
+    public String getDatabaseType() {
+        return "sqlserver";
+    }
+
+    @Override
+    public String getDriverClassName() {
+        return "com.microsoft.sqlserver.jdbc.SQLServerDriver";
+    }
+
+    @Override
+    public String buildJdbcUrl(DatabaseCredentials credentials) {
+        return "jdbc:sqlserver://" + credentials.getHost() + ":" + credentials.getPort() + ";databaseName=" + credentials.getDatabaseName();
+    }
+
+    @Override
+    public PagedQuery selectPage(String qualifiedTable, int limit, int offset) {
+        // OFFSET ... FETCH is only valid after an ORDER BY, TOP needs none; (SELECT NULL) orders by nothing
+        if (offset == 0) {
+            return new PagedQuery("SELECT TOP (?) * FROM " + qualifiedTable, limit);
+        }
+        return new PagedQuery("SELECT * FROM " + qualifiedTable + " ORDER BY (SELECT NULL) OFFSET ? ROWS FETCH NEXT ? ROWS ONLY", offset, limit);
+    }
+
+    @Override
+    public PagedQuery selectAfter(String qualifiedTable, String quotedColumn, Object watermark, int limit) {
+        String sql = "SELECT TOP (?) * FROM " + qualifiedTable + afterCondition(quotedColumn, watermark) + " ORDER BY " + quotedColumn;
+        return watermark == null ? new PagedQuery(sql, limit) : new PagedQuery(sql, limit, watermark);
+    }
+
+    @Override
+    public Map<String, String> getDataSourceProperties() {
+        return Map.of(
+                "disableStatementPooling", "false",
+                "statementPoolingCacheSize", "256");
+    }
+
+    @Override
+    public String quoteIdentifier(String identifier) {
+        return "[" + identifier.replace("]", "]]") + "]";
+    }
+
+    @Override
+    public String resolveDefaultSchema(Connection connection, DatabaseCredentials credentials) throws SQLException {
+        String schema = connection.getSchema();
+        return schema != null ? schema : "dbo";
+    }
+
+    @Override
+    public OptionalLong estimateRowCount(Connection connection, DatabaseCredentials credentials, String tableName) throws SQLException {
+        return queryCatalogRowCount(connection, ROW_ESTIMATE_SQL, resolveDefaultSchema(connection, credentials), tableName);
+    }
+}
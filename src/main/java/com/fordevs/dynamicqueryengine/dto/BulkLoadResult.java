@@ -0,0 +1,24 @@
+package com.fordevs.dynamicqueryengine.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO class to hold the outcome of a bulk load.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkLoadResult {
+    private String loadId;
+    private String tableName;
+    private String format;
+    private String mode;
+    private String method; // "copy" or "batch"
+    private long rowsLoaded;
+    private long batches;
+    private long commits;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+}
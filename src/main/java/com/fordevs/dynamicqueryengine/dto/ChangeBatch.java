@@ -0,0 +1,22 @@
+package com.fordevs.dynamicqueryengine.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO class to hold the rows of a table past a watermark.
+ * The watermark is the value to send back to receive the following rows.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeBatch {
+    private String tableName;
+    private String watermarkColumn;
+    private String watermark;
+    private List<Map<String, Object>> rows;
+}
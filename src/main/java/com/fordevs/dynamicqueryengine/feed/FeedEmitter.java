@@ -0,0 +1,53 @@
+package com.fordevs.dynamicqueryengine.feed;
+
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SseEmitter deferring work until Spring MVC attaches it to the response. Events sent before that are kept in memory
+ * by the emitter, so a catch-up started while the controller is still returning would read its whole backlog into
+ * the heap before the first byte goes out.
+ */
+public class FeedEmitter extends SseEmitter {
+
+    // Tasks waiting for the emitter to be attached, guarded by itself
+    private final List<Runnable> pendingTasks = new ArrayList<>();
+    private boolean attached;
+
+    public FeedEmitter(long timeoutMillis) {
+        super(timeoutMillis);
+    }
+
+    /**
+     * Runs a task now if the emitter is attached to the response, otherwise once it is.
+     *
+     * @param task the task to run
+     */
+    public void whenAttached(Runnable task) {
+        synchronized (pendingTasks) {
+            if (!attached) {
+                pendingTasks.add(task);
+                return;
+            }
+        }
+        task.run();
+    }
+
+    /**
+     * Called by Spring MVC right before it attaches the emitter, once the response headers are set.
+     */
+    @Override
+    protected void extendResponse(ServerHttpResponse outputMessage) {
+        super.extendResponse(outputMessage);
+        List<Runnable> tasks;
+        synchronized (pendingTasks) {
+            attached = true;
+            tasks = new ArrayList<>(pendingTasks);
+            pendingTasks.clear();
+        }
+        tasks.forEach(Runnable::run);
+    }
+}
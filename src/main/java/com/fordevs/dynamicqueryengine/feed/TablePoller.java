@@ -0,0 +1,431 @@
+package com.fordevs.dynamicqueryengine.feed;
+
+import com.fordevs.dynamicqueryengine.dialect.PagedQuery;
+import com.fordevs.dynamicqueryengine.dialect.SqlDialect;
+import com.fordevs.dynamicqueryengine.dto.ChangeBatch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Polls one table of one data source for rows past a watermark, shared by all the subscribers of that table.
+ * <p>
+ * New rows are pushed to Server-Sent Events subscribers and complete the pending long polls. The most recent
+ * rows are kept in memory so that clients resuming from a recent watermark are served without querying the
+ * database; only clients behind the retained rows trigger a catch-up query of their own, run outside the lock.
+ * Batches never stop partway through rows sharing a watermark, such as equal {@code updated_at} values, since
+ * a client resuming past that watermark would never receive the rest of them.
+ */
+@Slf4j
+public class TablePoller {
+
+    // Maximum number of queries per poll, so a large backlog cannot hold the poller forever
+    private static final int MAX_QUERIES_PER_POLL = 10;
+    private static final long HEARTBEAT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(15);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SqlDialect dialect;
+    private final String tableName;
+    private final String watermarkColumn;
+    private final String qualifiedTable;
+    private final String quotedColumn;
+    private final int batchSize;
+    private final int retainedRows;
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final List<PendingPoll> pendingPolls = new CopyOnWriteArrayList<>();
+
+    // Retained rows cover the watermarks in (floorWatermark, lastWatermark]
+    private final Deque<Map<String, Object>> recentRows = new ArrayDeque<>();
+    private Object floorWatermark;
+    private Object lastWatermark;
+
+    private ScheduledFuture<?> task;
+    private long lastActivityNanos = System.nanoTime();
+    private volatile long lastSendNanos = System.nanoTime();
+    private boolean stopped;
+
+    /**
+     * Creates a poller.
+     *
+     * @param jdbcTemplate    the JdbcTemplate of the data source
+     * @param dialect         the dialect of the data source
+     * @param tableName       the unquoted table name
+     * @param watermarkColumn the column name as reported by the database metadata
+     * @param batchSize       the number of rows per query and per batch sent to a client, exceeded only to complete
+     *                        the rows sharing the last watermark of a batch
+     * @param retainedRows    the number of recent rows kept in memory
+     */
+    public TablePoller(JdbcTemplate jdbcTemplate, SqlDialect dialect, String tableName, String watermarkColumn, int batchSize, int retainedRows) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = dialect;
+        this.tableName = tableName;
+        this.watermarkColumn = watermarkColumn;
+        this.qualifiedTable = dialect.quoteQualifiedName(tableName);
+        this.quotedColumn = dialect.quoteIdentifier(watermarkColumn);
+        this.batchSize = batchSize;
+        // The last row is always retained, so caught up clients are always served from memory
+        this.retainedRows = Math.max(1, retainedRows);
+    }
+
+    /**
+     * Starts from the current highest watermark, so only rows added from now on are polled.
+     */
+    public synchronized void start() {
+        this.lastWatermark = jdbcTemplate.queryForObject("SELECT MAX(" + quotedColumn + ") FROM " + qualifiedTable, Object.class);
+        this.floorWatermark = lastWatermark;
+        log.info("Started change feed poller for {}.{} at watermark {}", tableName, watermarkColumn, Watermarks.format(lastWatermark));
+    }
+
+    /**
+     * Sets the scheduled task running {@link #poll()}, cancelled when the poller stops.
+     *
+     * @param task the scheduled task
+     */
+    public synchronized void setTask(ScheduledFuture<?> task) {
+        this.task = task;
+    }
+
+    /**
+     * Queries the rows past the last watermark and delivers them to the subscribers.
+     * The rows are sent to the Server-Sent Events subscribers outside the lock, so a slow client does not hold up
+     * the subscribers joining in the meantime.
+     */
+    public void poll() {
+        List<SseEmitter> recipients;
+        ChangeBatch batch = null;
+        synchronized (this) {
+            if (stopped || (emitters.isEmpty() && pendingPolls.isEmpty())) {
+                return;
+            }
+
+            List<Map<String, Object>> newRows = new ArrayList<>();
+            for (int i = 0; i < MAX_QUERIES_PER_POLL; i++) {
+                List<Map<String, Object>> rows = queryAfter(lastWatermark);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                for (Map<String, Object> row : rows) {
+                    retain(row);
+                }
+                lastWatermark = rows.get(rows.size() - 1).get(watermarkColumn);
+                newRows.addAll(rows);
+                if (rows.size() < batchSize) {
+                    break;
+                }
+            }
+
+            if (!newRows.isEmpty()) {
+                batch = batch(newRows, Watermarks.format(lastWatermark));
+                for (PendingPoll pendingPoll : pendingPolls) {
+                    pendingPolls.remove(pendingPoll);
+                    pendingPoll.result().setResult(ResponseEntity.ok(rowsPast(pendingPoll.position()).batch()));
+                }
+            } else if (System.nanoTime() - lastSendNanos <= HEARTBEAT_INTERVAL_NANOS) {
+                return;
+            }
+            // Taken together with the new watermark: subscribers joining later have caught up past these rows
+            recipients = List.copyOf(emitters);
+            lastSendNanos = System.nanoTime();
+        }
+
+        if (batch != null) {
+            // Every SSE subscriber is up to date, so the new rows are exactly what each of them is missing
+            ChangeBatch rows = batch;
+            send(recipients, () -> SseEmitter.event().name("rows").data(rows));
+        } else {
+            // Keeps proxies from closing idle streams and detects disconnected clients
+            send(recipients, () -> SseEmitter.event().comment("keepalive"));
+        }
+    }
+
+    /**
+     * Subscribes a Server-Sent Events client. The rows past the given watermark are sent first, one batch per task
+     * run on the executor, so catching up clients take turns with the other work of the executor and are throttled
+     * by their own connection. The client then joins the subscribers receiving the new rows as they come.
+     *
+     * @param emitter  the emitter of the client
+     * @param after    the last watermark the client has seen, or null for new rows only
+     * @param executor the executor running the catch-up
+     * @return false if the poller was stopped and a new one must be used
+     * @throws IllegalArgumentException if the watermark does not match the column type
+     */
+    public boolean subscribe(SseEmitter emitter, String after, Executor executor) {
+        Object position;
+        synchronized (this) {
+            if (stopped) {
+                return false;
+            }
+            lastActivityNanos = System.nanoTime();
+            position = resolve(after);
+        }
+        executor.execute(() -> catchUp(emitter, position, executor, true));
+        return true;
+    }
+
+    /**
+     * Sends the next batch past the position, outside the lock, then joins the subscribers if the client has caught
+     * up or schedules the next batch otherwise.
+     */
+    private void catchUp(SseEmitter emitter, Object position, Executor executor, boolean first) {
+        try {
+            Page page = rowsPast(position);
+            // The first batch is sent even when empty, telling the client the watermark it starts from
+            if (first || !page.batch().getRows().isEmpty()) {
+                emitter.send(SseEmitter.event().name("rows").data(page.batch()));
+            }
+            synchronized (this) {
+                if (stopped) {
+                    emitter.complete();
+                    return;
+                }
+                if (isCaughtUp(page.position())) {
+                    join(emitter);
+                    return;
+                }
+            }
+            // Rows were added while catching up, or the client started far behind
+            executor.execute(() -> catchUp(emitter, page.position(), executor, false));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Change feed client disconnected during catch-up", e);
+            emitter.completeWithError(e);
+        } catch (RuntimeException e) {
+            log.error("Error catching up change feed client for {}.{}", tableName, watermarkColumn, e);
+            emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * Registers a long poll, completed right away if rows past the watermark are already known,
+     * otherwise on the next poll returning rows or on timeout.
+     *
+     * @param after  the last watermark the client has seen, or null for new rows only
+     * @param result the result to complete
+     * @return false if the poller was stopped and a new one must be used
+     */
+    public boolean await(String after, DeferredResult<ResponseEntity<ChangeBatch>> result) {
+        Object position;
+        synchronized (this) {
+            if (stopped) {
+                return false;
+            }
+            lastActivityNanos = System.nanoTime();
+            position = resolve(after);
+        }
+
+        // Clients behind the retained rows are served by a query outside the lock
+        Page page = rowsPast(position);
+        if (!page.batch().getRows().isEmpty()) {
+            result.setResult(ResponseEntity.ok(page.batch()));
+            return true;
+        }
+
+        synchronized (this) {
+            if (stopped) {
+                return false;
+            }
+            // Rows may have arrived since the first check
+            page = rowsPast(page.position());
+            if (!page.batch().getRows().isEmpty()) {
+                result.setResult(ResponseEntity.ok(page.batch()));
+                return true;
+            }
+
+            PendingPoll pendingPoll = new PendingPoll(page.position(), result);
+            pendingPolls.add(pendingPoll);
+            result.onTimeout(() -> {
+                pendingPolls.remove(pendingPoll);
+                result.setResult(ResponseEntity.ok(batch(Collections.emptyList(), Watermarks.format(pendingPoll.position()))));
+            });
+            result.onCompletion(() -> pendingPolls.remove(pendingPoll));
+            return true;
+        }
+    }
+
+    /**
+     * Stops the poller if it has had no subscriber for the given time.
+     *
+     * @param idleNanos the idle time
+     * @return true if the poller was stopped
+     */
+    public synchronized boolean stopIfIdle(long idleNanos) {
+        if (!emitters.isEmpty() || !pendingPolls.isEmpty()) {
+            lastActivityNanos = System.nanoTime();
+            return false;
+        }
+        if (System.nanoTime() - lastActivityNanos < idleNanos) {
+            return false;
+        }
+        stop();
+        return true;
+    }
+
+    /**
+     * Stops polling and completes all the subscribers.
+     */
+    public synchronized void stop() {
+        stopped = true;
+        if (task != null) {
+            task.cancel(false);
+        }
+        emitters.forEach(SseEmitter::complete);
+        emitters.clear();
+        for (PendingPoll pendingPoll : pendingPolls) {
+            pendingPoll.result().setResult(ResponseEntity.ok(batch(Collections.emptyList(), Watermarks.format(pendingPoll.position()))));
+        }
+        pendingPolls.clear();
+        log.info("Stopped change feed poller for {}.{}", tableName, watermarkColumn);
+    }
+
+    public int getSubscriberCount() {
+        return emitters.size() + pendingPolls.size();
+    }
+
+    /**
+     * Resolves the position of a client from the watermark it sent: past that watermark, or past the current
+     * last watermark for new rows only. A null position is before the first row, so a client arriving while the
+     * table is empty receives its first rows.
+     */
+    private Object resolve(String afterText) {
+        return afterText == null || afterText.isBlank() ? lastWatermark : Watermarks.parse(afterText, lastWatermark);
+    }
+
+    private boolean isCaughtUp(Object position) {
+        return lastWatermark == null || (position != null && Watermarks.compare(position, lastWatermark) >= 0);
+    }
+
+    private void join(SseEmitter emitter) {
+        emitters.add(emitter);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+    }
+
+    /**
+     * Gets the rows past a position, from the retained rows when they cover it, otherwise from the database
+     * without holding the lock.
+     */
+    private Page rowsPast(Object position) {
+        Page retained = retainedRowsPast(position);
+        if (retained != null) {
+            return retained;
+        }
+
+        // The client is behind the retained rows and needs its own catch-up query
+        List<Map<String, Object>> rows = queryAfter(position);
+        if (!rows.isEmpty()) {
+            Object last = rows.get(rows.size() - 1).get(watermarkColumn);
+            return new Page(batch(rows, Watermarks.format(last)), last);
+        }
+        // No row is left between the position and the retained rows, continue from them
+        synchronized (this) {
+            return retainedRowsPast(floorWatermark);
+        }
+    }
+
+    /**
+     * Gets the rows past a position from the retained rows, completing the group of rows sharing the last watermark
+     * beyond the batch size.
+     *
+     * @return the rows, empty if the position is caught up, or null if the retained rows do not cover the position
+     */
+    private synchronized Page retainedRowsPast(Object position) {
+        if (isCaughtUp(position)) {
+            return new Page(batch(Collections.emptyList(), Watermarks.format(position)), position);
+        }
+        // Retained rows cover (floorWatermark, lastWatermark], or every row when the table was empty at start
+        if (floorWatermark != null && (position == null || Watermarks.compare(position, floorWatermark) < 0)) {
+            return null;
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        Object last = position;
+        for (Map<String, Object> row : recentRows) {
+            Object watermark = row.get(watermarkColumn);
+            if (Watermarks.compare(watermark, position) <= 0) {
+                continue;
+            }
+            if (rows.size() >= batchSize && Watermarks.compare(watermark, last) != 0) {
+                break;
+            }
+            rows.add(row);
+            last = watermark;
+        }
+        return new Page(batch(rows, Watermarks.format(last)), last);
+    }
+
+    /**
+     * Queries up to a batch of rows past a watermark. When the batch is full, the rows sharing its last watermark
+     * are queried as a whole, so advancing past that watermark skips none of them; the batch may then exceed the
+     * batch size.
+     */
+    private List<Map<String, Object>> queryAfter(Object watermark) {
+        PagedQuery query = dialect.selectAfter(qualifiedTable, quotedColumn, watermark, batchSize);
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(query.sql(), query.args());
+        if (rows.size() < batchSize) {
+            return rows;
+        }
+
+        Object last = rows.get(rows.size() - 1).get(watermarkColumn);
+        List<Map<String, Object>> complete = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            if (Watermarks.compare(row.get(watermarkColumn), last) < 0) {
+                complete.add(row);
+            }
+        }
+        PagedQuery group = dialect.selectAt(qualifiedTable, quotedColumn, last);
+        complete.addAll(jdbcTemplate.queryForList(group.sql(), group.args()));
+        return complete;
+    }
+
+    private void retain(Map<String, Object> row) {
+        recentRows.addLast(row);
+        while (recentRows.size() > retainedRows) {
+            floorWatermark = recentRows.removeFirst().get(watermarkColumn);
+        }
+    }
+
+    private void send(List<SseEmitter> recipients, Supplier<SseEmitter.SseEventBuilder> event) {
+        for (SseEmitter emitter : recipients) {
+            try {
+                // Event builders cannot be reused, each emitter gets its own
+                emitter.send(event.get());
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Removing disconnected change feed client", e);
+                emitters.remove(emitter);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    private ChangeBatch batch(List<Map<String, Object>> rows, String watermark) {
+        return new ChangeBatch(tableName, watermarkColumn, watermark, rows);
+    }
+
+    /**
+     * A long poll waiting for rows past a position, null for the first rows of a table empty when it arrived.
+     */
+    private record PendingPoll(Object position, DeferredResult<ResponseEntity<ChangeBatch>> result) {
+    }
+
+    /**
+     * A batch of rows and the position of the client once it has received them.
+     */
+    private record Page(ChangeBatch batch, Object position) {
+    }
+}
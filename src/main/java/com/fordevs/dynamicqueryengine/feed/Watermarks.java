@@ -0,0 +1,123 @@
+package com.fordevs.dynamicqueryengine.feed;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Conversions of watermark values between their JDBC types, their text form sent to clients,
+ * and a form that can be compared across numeric and temporal types.
+ */
+public final class Watermarks {
+
+    private Watermarks() {
+    }
+
+    /**
+     * Compares two watermarks, null being lower than any value.
+     *
+     * @param a the first watermark
+     * @param b the second watermark
+     * @return a negative number, zero or a positive number as a is lower, equal or greater than b
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static int compare(Object a, Object b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        Comparable left = comparable(a);
+        Comparable right = comparable(b);
+        return left.compareTo(right);
+    }
+
+    /**
+     * Formats a watermark as text, parsable back with {@link #parse(String, Object)}.
+     *
+     * @param value the watermark
+     * @return the text form, or null for a null watermark
+     */
+    public static String format(Object value) {
+        if (value == null) {
+            return null;
+        }
+        Object comparable = comparable(value);
+        return comparable instanceof BigDecimal decimal ? decimal.toPlainString() : comparable.toString();
+    }
+
+    /**
+     * Parses a watermark sent by a client into the JDBC type of the watermark column.
+     *
+     * @param text   the text form
+     * @param sample a value of the column, used to pick the type, or null if unknown
+     * @return the typed watermark, or null for null or blank text
+     * @throws IllegalArgumentException if the text does not match the column type
+     */
+    public static Object parse(String text, Object sample) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        try {
+            if (sample instanceof Number) {
+                return new BigDecimal(text);
+            } else if (sample instanceof Timestamp) {
+                return Timestamp.valueOf(LocalDateTime.parse(text));
+            } else if (sample instanceof Date) {
+                return Date.valueOf(LocalDate.parse(text));
+            } else if (sample instanceof LocalDateTime) {
+                return LocalDateTime.parse(text);
+            } else if (sample instanceof LocalDate) {
+                return LocalDate.parse(text);
+            } else if (sample instanceof OffsetDateTime) {
+                return OffsetDateTime.parse(text);
+            } else if (sample instanceof Instant) {
+                return Instant.parse(text);
+            } else if (sample != null) {
+                return text;
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid watermark: " + text, e);
+        }
+        return guess(text);
+    }
+
+    /**
+     * Guesses the type of a watermark when the column has no value yet.
+     */
+    private static Object guess(String text) {
+        try {
+            return new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            // Not a number
+        }
+        try {
+            return Timestamp.valueOf(LocalDateTime.parse(text));
+        } catch (DateTimeParseException e) {
+            return text;
+        }
+    }
+
+    /**
+     * Normalizes numbers to BigDecimal and JDBC temporal types to java.time types.
+     */
+    private static Comparable<?> comparable(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        } else if (value instanceof Number) {
+            return new BigDecimal(value.toString());
+        } else if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        } else if (value instanceof Date date) {
+            return date.toLocalDate();
+        } else if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toInstant();
+        } else if (value instanceof Comparable<?> comparable) {
+            return comparable;
+        }
+        return value.toString();
+    }
+}
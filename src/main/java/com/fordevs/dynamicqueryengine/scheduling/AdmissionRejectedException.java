@@ -0,0 +1,11 @@
+package com.fordevs.dynamicqueryengine.scheduling;
+
+/**
+ * Thrown when a request is not admitted because its queue is full or it waited too long.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    public AdmissionRejectedException(String message) {
+        super(message);
+    }
+}
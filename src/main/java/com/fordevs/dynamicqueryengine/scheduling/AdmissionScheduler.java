@@ -0,0 +1,261 @@
+package com.fordevs.dynamicqueryengine.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Admission scheduler applying weighted fair queuing to requests, per tenant and workload class.
+ * <p>
+ * Each (tenant, class) pair is a flow with weight {@code class share * tenant share}. Requests are tagged with
+ * start-time fair queuing: a request starts at the later of the virtual time and the finish tag of the previous
+ * request of its flow, and finishes {@code 1 / weight} later. When an execution slot frees up, the waiting request
+ * with the lowest start tag runs, so a flow with twice the weight is admitted twice as often under contention,
+ * and a burst from one tenant or class cannot starve the others. Per class concurrency caps keep slots free for
+ * short interactive requests while long queries or bulk loads are running.
+ * <p>
+ * Waiting requests are bounded per flow, so a tenant bursting one class is rejected before it fills the queue of
+ * every other tenant, and per class. Since a waiting request holds its servlet thread, the class queue limits plus
+ * the concurrency must leave servlet threads free, otherwise queued bulk or ad-hoc calls could take every thread
+ * and interactive requests would never reach the scheduler; the scheduler refuses to start in that case.
+ */
+@Slf4j
+@Component
+public class AdmissionScheduler {
+
+    // Number of recent wait times kept per class for percentiles
+    private static final int WAIT_SAMPLES = 1024;
+
+    private final SchedulerProperties properties;
+
+    // Flows by tenant and class, guarded by this
+    private final Map<String, Flow> flows = new HashMap<>();
+    private final Map<WorkloadClass, ClassStats> stats = new EnumMap<>(WorkloadClass.class);
+    private double virtualTime;
+    private long sequence;
+    private int running;
+
+    public AdmissionScheduler(SchedulerProperties properties,
+                              @Value("${server.tomcat.threads.max:200}") int servletThreads) {
+        int heldThreads = properties.getMaxConcurrency() + properties.getTotalQueueLimit();
+        if (properties.isEnabled() && heldThreads >= servletThreads) {
+            throw new IllegalStateException("dqe.scheduler.max-concurrency plus the class queue limits (" + heldThreads
+                    + ") must stay below server.tomcat.threads.max (" + servletThreads + ")");
+        }
+        this.properties = properties;
+        for (WorkloadClass workloadClass : WorkloadClass.values()) {
+            stats.put(workloadClass, new ClassStats());
+        }
+    }
+
+    /**
+     * Runs work once admitted, waiting for its turn if all slots are busy.
+     *
+     * @param tenant        the tenant issuing the work
+     * @param workloadClass the class of the work
+     * @param work          the work to run
+     * @return the result of the work
+     * @throws AdmissionRejectedException if the tenant or class queue is full or the wait exceeds the class limit
+     */
+    public <T> T run(String tenant, WorkloadClass workloadClass, Supplier<T> work) {
+        if (!properties.isEnabled()) {
+            return work.get();
+        }
+        Ticket ticket = acquire(tenant, workloadClass);
+        try {
+            return work.get();
+        } finally {
+            release(ticket);
+        }
+    }
+
+    private Ticket acquire(String tenant, WorkloadClass workloadClass) {
+        SchedulerProperties.ClassSettings settings = properties.getSettings(workloadClass);
+        Ticket ticket;
+        synchronized (this) {
+            ClassStats classStats = stats.get(workloadClass);
+            if (classStats.queued >= settings.getQueueLimit()) {
+                classStats.rejected++;
+                throw new AdmissionRejectedException("Too many queued " + workloadClass + " requests");
+            }
+            String flowKey = tenant + "|" + workloadClass;
+            Flow flow = flows.get(flowKey);
+            if ((flow == null ? 0 : flow.queue.size()) >= settings.getTenantQueueLimit()) {
+                classStats.rejected++;
+                throw new AdmissionRejectedException("Too many queued " + workloadClass + " requests for tenant " + tenant);
+            }
+
+            if (flow == null) {
+                flow = new Flow(workloadClass);
+                flows.put(flowKey, flow);
+            }
+            double weight = Math.max(1e-6, settings.getShare() * properties.getTenantShare(tenant));
+            double startTag = Math.max(virtualTime, flow.lastFinishTag);
+            flow.lastFinishTag = startTag + 1.0 / weight;
+            ticket = new Ticket(flow, startTag, sequence++);
+            flow.queue.addLast(ticket);
+            classStats.queued++;
+            dispatch();
+        }
+
+        boolean interrupted = false;
+        try {
+            ticket.latch.await(settings.getMaxWaitMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            interrupted = true;
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this) {
+            if (ticket.granted) {
+                return ticket;
+            }
+            // Not admitted in time, give up the place in the queue
+            ticket.flow.queue.remove(ticket);
+            ClassStats classStats = stats.get(workloadClass);
+            classStats.queued--;
+            classStats.timedOut++;
+        }
+        throw new AdmissionRejectedException(interrupted
+                ? "Interrupted while waiting for admission"
+                : "Timed out waiting " + settings.getMaxWaitMillis() + " ms for admission of a " + workloadClass + " request");
+    }
+
+    private synchronized void release(Ticket ticket) {
+        running--;
+        stats.get(ticket.flow.workloadClass).running--;
+        dispatch();
+    }
+
+    /**
+     * Admits the waiting requests with the lowest start tags while slots are free.
+     */
+    private void dispatch() {
+        while (running < properties.getMaxConcurrency()) {
+            Ticket next = null;
+            for (Flow flow : flows.values()) {
+                Ticket head = flow.queue.peekFirst();
+                if (head == null || stats.get(flow.workloadClass).running >= properties.getSettings(flow.workloadClass).getMaxConcurrent()) {
+                    continue;
+                }
+                if (next == null || head.startTag < next.startTag || (head.startTag == next.startTag && head.sequence < next.sequence)) {
+                    next = head;
+                }
+            }
+            if (next == null) {
+                break;
+            }
+
+            next.flow.queue.removeFirst();
+            virtualTime = Math.max(virtualTime, next.startTag);
+            running++;
+            ClassStats classStats = stats.get(next.flow.workloadClass);
+            classStats.queued--;
+            classStats.running++;
+            classStats.recordWait(System.nanoTime() - next.enqueuedNanos);
+            next.granted = true;
+            next.latch.countDown();
+        }
+
+        // Flows with nothing queued and no credit left are recreated on demand
+        flows.values().removeIf(flow -> flow.queue.isEmpty() && flow.lastFinishTag <= virtualTime);
+    }
+
+    /**
+     * Gets the queue depth, running count, counters and wait times of each workload class.
+     *
+     * @return the statistics by class name
+     */
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (Map.Entry<WorkloadClass, ClassStats> entry : stats.entrySet()) {
+            ClassStats classStats = entry.getValue();
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("queued", classStats.queued);
+            values.put("running", classStats.running);
+            values.put("admitted", classStats.admitted);
+            values.put("rejected", classStats.rejected);
+            values.put("timedOut", classStats.timedOut);
+            values.put("avgWaitMs", classStats.admitted == 0 ? 0.0 : classStats.totalWaitNanos / 1_000_000.0 / classStats.admitted);
+            values.put("p99WaitMs", classStats.recentWaitPercentileMillis(0.99));
+            values.put("maxWaitMs", classStats.maxWaitNanos / 1_000_000.0);
+            result.put(entry.getKey().name(), values);
+        }
+        result.put("running", running);
+        result.put("maxConcurrency", properties.getMaxConcurrency());
+        return result;
+    }
+
+    /**
+     * Requests of one tenant and class, served in arrival order.
+     */
+    private static final class Flow {
+        private final WorkloadClass workloadClass;
+        private final Deque<Ticket> queue = new ArrayDeque<>();
+        private double lastFinishTag;
+
+        private Flow(WorkloadClass workloadClass) {
+            this.workloadClass = workloadClass;
+        }
+    }
+
+    /**
+     * A request waiting for, or holding, an execution slot.
+     */
+    private static final class Ticket {
+        private final Flow flow;
+        private final double startTag;
+        private final long sequence;
+        private final long enqueuedNanos = System.nanoTime();
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private boolean granted;
+
+        private Ticket(Flow flow, double startTag, long sequence) {
+            this.flow = flow;
+            this.startTag = startTag;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Counters of one workload class.
+     */
+    private static final class ClassStats {
+        private int queued;
+        private int running;
+        private long admitted;
+        private long rejected;
+        private long timedOut;
+        private long totalWaitNanos;
+        private long maxWaitNanos;
+        private final long[] recentWaits = new long[WAIT_SAMPLES];
+
+        private void recordWait(long waitNanos) {
+            recentWaits[(int) (admitted % WAIT_SAMPLES)] = waitNanos;
+            admitted++;
+            totalWaitNanos += waitNanos;
+            maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+        }
+
+        private double recentWaitPercentileMillis(double percentile) {
+            int count = (int) Math.min(admitted, WAIT_SAMPLES);
+            if (count == 0) {
+                return 0.0;
+            }
+            long[] sorted = Arrays.copyOf(recentWaits, count);
+            Arrays.sort(sorted);
+            return sorted[Math.max(0, (int) Math.ceil(percentile * count) - 1)] / 1_000_000.0;
+        }
+    }
+}
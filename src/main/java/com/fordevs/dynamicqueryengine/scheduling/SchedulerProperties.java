@@ -0,0 +1,107 @@
+package com.fordevs.dynamicqueryengine.scheduling;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of the {@link AdmissionScheduler}, bound from the {@code dqe.scheduler} properties.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "dqe.scheduler")
+public class SchedulerProperties {
+
+    // Tenant of the requests without a configured tenant
+    public static final String DEFAULT_TENANT = "default";
+
+    private boolean enabled = true;
+
+    // Requests executing at the same time across all tenants and classes
+    private int maxConcurrency = 32;
+
+    // Relative share of each tenant; tenants not listed are scheduled as the default tenant
+    private Map<String, Double> tenantShares = new HashMap<>();
+
+    // Waiting requests hold a servlet thread, so max-concurrency plus the class queue limits must stay below
+    // server.tomcat.threads.max for new requests to reach the scheduler at all
+    private ClassSettings interactive = new ClassSettings(8, 32, 8, 32, 2_000);
+    private ClassSettings pageBrowse = new ClassSettings(4, 24, 8, 24, 10_000);
+    private ClassSettings adhocQuery = new ClassSettings(2, 16, 4, 16, 30_000);
+    private ClassSettings bulk = new ClassSettings(1, 4, 2, 4, 60_000);
+
+    /**
+     * Gets the settings of a workload class.
+     *
+     * @param workloadClass the workload class
+     * @return the settings
+     */
+    public ClassSettings getSettings(WorkloadClass workloadClass) {
+        return switch (workloadClass) {
+            case INTERACTIVE -> interactive;
+            case PAGE_BROWSE -> pageBrowse;
+            case ADHOC_QUERY -> adhocQuery;
+            case BULK -> bulk;
+        };
+    }
+
+    /**
+     * Gets the number of requests that may wait at the same time across all classes.
+     *
+     * @return the sum of the class queue limits
+     */
+    public int getTotalQueueLimit() {
+        int total = 0;
+        for (WorkloadClass workloadClass : WorkloadClass.values()) {
+            total += getSettings(workloadClass).getQueueLimit();
+        }
+        return total;
+    }
+
+    /**
+     * Resolves the tenant a request is scheduled under. The tenant name comes from an unauthenticated header, so only
+     * the tenants listed in {@code tenant-shares} get flows of their own; any other name is the default tenant, since
+     * a client sending a new name with every request would otherwise escape the tenant queue limit and take a fresh
+     * share per name.
+     *
+     * @param tenant the tenant sent with the request, or null
+     * @return the tenant if configured, the default tenant otherwise
+     */
+    public String resolveTenant(String tenant) {
+        return tenant != null && tenantShares.containsKey(tenant) ? tenant : DEFAULT_TENANT;
+    }
+
+    /**
+     * Gets the share of a tenant.
+     *
+     * @param tenant the tenant
+     * @return the share, 1.0 by default
+     */
+    public double getTenantShare(String tenant) {
+        return tenantShares.getOrDefault(tenant, 1.0);
+    }
+
+    /**
+     * Settings of one workload class.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ClassSettings {
+        // Relative share of the class when several classes are waiting
+        private double share;
+        // Requests of the class waiting beyond this limit are rejected, whatever their tenant
+        private int queueLimit;
+        // Requests of one tenant in the class waiting beyond this limit are rejected
+        private int tenantQueueLimit;
+        // Requests of the class executing at the same time, keeping slots free for the other classes
+        private int maxConcurrent;
+        // Requests waiting longer than this are rejected
+        private long maxWaitMillis;
+    }
+}
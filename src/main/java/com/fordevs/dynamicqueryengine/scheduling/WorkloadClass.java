@@ -0,0 +1,15 @@
+package com.fordevs.dynamicqueryengine.scheduling;
+
+/**
+ * Classes of work scheduled by the {@link AdmissionScheduler}, each with its own share and limits.
+ */
+public enum WorkloadClass {
+    /** Connections and metadata browsing: listTables, listColumns. */
+    INTERACTIVE,
+    /** Paged table data and change feed subscriptions. */
+    PAGE_BROWSE,
+    /** Ad-hoc SQL queries. */
+    ADHOC_QUERY,
+    /** Bulk loads and other long running transfers. */
+    BULK
+}
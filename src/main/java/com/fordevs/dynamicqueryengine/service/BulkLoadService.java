@@ -0,0 +1,279 @@
+package com.fordevs.dynamicqueryengine.service;
+
+import com.fordevs.dynamicqueryengine.bulk.BatchRowWriter;
+import com.fordevs.dynamicqueryengine.bulk.BulkLoadFormat;
+import com.fordevs.dynamicqueryengine.bulk.BulkLoadMode;
+import com.fordevs.dynamicqueryengine.bulk.PgCopyRowWriter;
+import com.fordevs.dynamicqueryengine.bulk.RowReader;
+import com.fordevs.dynamicqueryengine.bulk.RowWriter;
+import com.fordevs.dynamicqueryengine.config.DynamicDataSourceManager;
+import com.fordevs.dynamicqueryengine.dialect.SqlDialect;
+import com.fordevs.dynamicqueryengine.dto.BulkLoadResult;
+import com.fordevs.dynamicqueryengine.dto.DatabaseCredentials;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Service class to bulk load CSV or NDJSON rows into a table.
+ * Rows are streamed from the request body and written with the PostgreSQL COPY protocol when available,
+ * or with batched INSERT statements otherwise. The progress of each load is kept under its load id, so clients can
+ * follow a long load from another request while it runs, and read its outcome afterwards.
+ */
+@Slf4j
+@Service
+public class BulkLoadService {
+
+    // Number of rows between two progress log lines
+    private static final long PROGRESS_INTERVAL = 100_000;
+    // Number of finished loads whose progress is kept
+    private static final int FINISHED_LOADS_KEPT = 100;
+    private static final Pattern LOAD_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    // Running loads and the most recently finished ones, by load id
+    private final Map<String, LoadProgress> loads = new ConcurrentHashMap<>();
+    // Finished load ids, oldest first, guarded by itself
+    private final Deque<String> finishedLoads = new ArrayDeque<>();
+
+    private final DynamicDataSourceManager dataSourceManager;
+    private final SchemaDiscoveryService schemaDiscoveryService;
+
+    public BulkLoadService(DynamicDataSourceManager dataSourceManager, SchemaDiscoveryService schemaDiscoveryService) {
+        this.dataSourceManager = dataSourceManager;
+        this.schemaDiscoveryService = schemaDiscoveryService;
+    }
+
+    /**
+     * Loads the rows of the body into the table.
+     *
+     * @param loadId      the id to follow the load under, or null to generate one
+     * @param tableName   the target table
+     * @param credentials the database credentials
+     * @param format      the format of the body
+     * @param mode        the commit mode
+     * @param batchSize   the number of rows per batch, and per commit in chunk mode
+     * @param body        the request body
+     * @return the outcome of the load
+     * @throws SQLException if the rows cannot be written
+     * @throws IOException  if the body cannot be read or parsed
+     */
+    public BulkLoadResult load(String loadId, String tableName, DatabaseCredentials credentials, BulkLoadFormat format, BulkLoadMode mode, int batchSize, InputStream body) throws SQLException, IOException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        String id = loadId == null || loadId.isBlank() ? UUID.randomUUID().toString() : loadId;
+        if (!LOAD_ID.matcher(id).matches()) {
+            throw new IllegalArgumentException("Invalid load id, expected up to 64 letters, digits, '-' or '_': " + id);
+        }
+        LoadProgress progress = new LoadProgress(id, tableName);
+        if (loads.putIfAbsent(id, progress) != null) {
+            throw new IllegalArgumentException("Load id already used: " + id);
+        }
+
+        try {
+            BulkLoadResult result = load(progress, tableName, credentials, format, mode, batchSize, body);
+            progress.finish("done", null);
+            return result;
+        } catch (SQLException | IOException | RuntimeException e) {
+            progress.finish("failed", e.getMessage());
+            throw e;
+        } finally {
+            retire(id);
+        }
+    }
+
+    /**
+     * Gets the progress of the running loads and of the most recently finished ones.
+     *
+     * @return the progress of each load
+     */
+    public List<Map<String, Object>> getLoads() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (LoadProgress progress : loads.values()) {
+            result.add(progress.snapshot());
+        }
+        return result;
+    }
+
+    /**
+     * Gets the progress of one load.
+     *
+     * @param loadId the load id
+     * @return the progress, or null if the load is unknown or no longer kept
+     */
+    public Map<String, Object> getLoad(String loadId) {
+        LoadProgress progress = loads.get(loadId);
+        return progress == null ? null : progress.snapshot();
+    }
+
+    private void retire(String loadId) {
+        synchronized (finishedLoads) {
+            finishedLoads.addLast(loadId);
+            while (finishedLoads.size() > FINISHED_LOADS_KEPT) {
+                loads.remove(finishedLoads.removeFirst());
+            }
+        }
+    }
+
+    private BulkLoadResult load(LoadProgress progress, String tableName, DatabaseCredentials credentials, BulkLoadFormat format, BulkLoadMode mode, int batchSize, InputStream body) throws SQLException, IOException {
+        String key = dataSourceManager.getKey(credentials);
+        JdbcTemplate jdbcTemplate = dataSourceManager.getJdbcTemplateForDb(key);
+        if (jdbcTemplate == null || jdbcTemplate.getDataSource() == null) {
+            throw new SQLException("Unable to obtain JdbcTemplate for key: " + key);
+        }
+
+        SqlDialect dialect = dataSourceManager.getDialect(credentials);
+        Map<String, Map<String, Object>> tableColumns = new HashMap<>();
+        for (Map<String, Object> column : schemaDiscoveryService.listColumns(tableName, credentials)) {
+            tableColumns.put(((String) column.get("COLUMN_NAME")).toLowerCase(), column);
+        }
+        if (tableColumns.isEmpty()) {
+            throw new IllegalArgumentException("Table not found: " + tableName);
+        }
+
+        try (RowReader reader = RowReader.create(format, new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            // Map the input columns to the table columns, case insensitive
+            List<String> quotedColumns = new ArrayList<>();
+            int[] sqlTypes = new int[reader.getColumns().size()];
+            for (String inputColumn : reader.getColumns()) {
+                Map<String, Object> column = tableColumns.get(inputColumn.toLowerCase());
+                if (column == null) {
+                    throw new IllegalArgumentException("Unknown column for table " + tableName + ": " + inputColumn);
+                }
+                sqlTypes[quotedColumns.size()] = (Integer) column.get("DATA_TYPE");
+                quotedColumns.add(dialect.quoteIdentifier((String) column.get("COLUMN_NAME")));
+            }
+
+            try (Connection con = jdbcTemplate.getDataSource().getConnection()) {
+                return write(con, dialect, progress, tableName, reader, quotedColumns, sqlTypes, format, mode, batchSize);
+            }
+        }
+    }
+
+    private BulkLoadResult write(Connection con, SqlDialect dialect, LoadProgress progress, String tableName, RowReader reader, List<String> quotedColumns, int[] sqlTypes, BulkLoadFormat format, BulkLoadMode mode, int batchSize) throws SQLException, IOException {
+        String qualifiedTable = dialect.quoteQualifiedName(tableName);
+        boolean chunked = mode == BulkLoadMode.CHUNK;
+        boolean copy = dialect.supportsCopyIn();
+        long start = progress.startNanos;
+        long rowsRead = 0;
+        long rowsLoaded = 0;
+        long batches = 0;
+        long commits = 0;
+
+        boolean autoCommit = con.getAutoCommit();
+        con.setAutoCommit(false);
+        // A single COPY streams the whole body unless chunks are committed separately
+        try (RowWriter writer = copy
+                ? new PgCopyRowWriter(con, qualifiedTable, quotedColumns, chunked ? batchSize : Integer.MAX_VALUE)
+                : new BatchRowWriter(con, qualifiedTable, quotedColumns, sqlTypes, batchSize)) {
+            String[] values;
+            while ((values = reader.next()) != null) {
+                rowsRead++;
+                progress.rowsRead = rowsRead;
+                int written = writer.write(values);
+                if (written > 0) {
+                    rowsLoaded += written;
+                    batches++;
+                    progress.rowsLoaded = rowsLoaded;
+                    if (chunked) {
+                        con.commit();
+                        commits++;
+                        progress.rowsCommitted = rowsLoaded;
+                    }
+                }
+                if (rowsRead % PROGRESS_INTERVAL == 0) {
+                    log.info("Bulk load into {}: {} rows read, {} rows loaded, {} rows/s", tableName, rowsRead, rowsLoaded, rate(rowsRead, start));
+                }
+            }
+
+            int written = writer.flush();
+            if (written > 0) {
+                rowsLoaded += written;
+                batches++;
+            }
+            con.commit();
+            commits++;
+            progress.rowsLoaded = rowsLoaded;
+            progress.rowsCommitted = rowsLoaded;
+        } catch (Exception e) {
+            con.rollback();
+            log.error("Bulk load into {} failed after {} rows read, {} rows committed", tableName, rowsRead, chunked ? rowsLoaded : 0);
+            throw e;
+        } finally {
+            con.setAutoCommit(autoCommit);
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        long rowsPerSecond = rate(rowsLoaded, start);
+        log.info("Bulk load into {} done: {} rows in {} ms ({} rows/s) using {}", tableName, rowsLoaded, elapsedMillis, rowsPerSecond, copy ? "COPY" : "batched INSERT");
+        return new BulkLoadResult(progress.loadId, tableName, format.name().toLowerCase(), mode.name().toLowerCase(), copy ? "copy" : "batch",
+                rowsLoaded, batches, commits, elapsedMillis, rowsPerSecond);
+    }
+
+    private static long rate(long rows, long startNanos) {
+        long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+        return rows * 1_000_000_000L / elapsedNanos;
+    }
+
+    /**
+     * Progress of one load, written by the loading thread and read by status requests.
+     */
+    private static final class LoadProgress {
+        private final String loadId;
+        private final String tableName;
+        private final long startNanos = System.nanoTime();
+        private volatile long rowsRead;
+        private volatile long rowsLoaded;
+        private volatile long rowsCommitted;
+        private volatile String status = "running";
+        private volatile String error;
+        private volatile long endNanos;
+
+        private LoadProgress(String loadId, String tableName) {
+            this.loadId = loadId;
+            this.tableName = tableName;
+        }
+
+        private void finish(String status, String error) {
+            this.error = error;
+            this.endNanos = System.nanoTime();
+            this.status = status;
+        }
+
+        private Map<String, Object> snapshot() {
+            String currentStatus = status;
+            long elapsedNanos = Math.max(1, ("running".equals(currentStatus) ? System.nanoTime() : endNanos) - startNanos);
+            long loaded = rowsLoaded;
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("loadId", loadId);
+            values.put("tableName", tableName);
+            values.put("status", currentStatus);
+            values.put("rowsRead", rowsRead);
+            values.put("rowsLoaded", loaded);
+            values.put("rowsCommitted", rowsCommitted);
+            values.put("elapsedMillis", elapsedNanos / 1_000_000);
+            values.put("rowsPerSecond", loaded * 1_000_000_000L / elapsedNanos);
+            if (error != null) {
+                values.put("error", error);
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.fordevs.dynamicqueryengine.service;
+
+import com.fordevs.dynamicqueryengine.config.DataSourceClosedEvent;
+import com.fordevs.dynamicqueryengine.config.DynamicDataSourceManager;
+import com.fordevs.dynamicqueryengine.dialect.SqlDialect;
+import com.fordevs.dynamicqueryengine.dto.ChangeBatch;
+import com.fordevs.dynamicqueryengine.dto.DatabaseCredentials;
+import com.fordevs.dynamicqueryengine.feed.FeedEmitter;
+import com.fordevs.dynamicqueryengine.feed.TablePoller;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service class to deliver the rows added to a table past a watermark column, through Server-Sent Events or long polling.
+ * A single {@link TablePoller} per data source, table and watermark column queries the database and fans the rows out
+ * to all its subscribers, so the database load does not grow with the number of clients.
+ */
+@Slf4j
+@Service
+public class ChangeFeedService {
+
+    private final DynamicDataSourceManager dataSourceManager;
+    private final SchemaDiscoveryService schemaDiscoveryService;
+
+    // Pollers by data source key, table and watermark column
+    private final Map<String, TablePoller> pollers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    @Value("${dqe.feed.poll-interval-ms:1000}")
+    private long pollIntervalMillis;
+
+    @Value("${dqe.feed.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${dqe.feed.retained-rows:10000}")
+    private int retainedRows;
+
+    @Value("${dqe.feed.idle-timeout-ms:60000}")
+    private long idleTimeoutMillis;
+
+    @Value("${dqe.feed.sse-timeout-ms:1800000}")
+    private long sseTimeoutMillis;
+
+    @Value("${dqe.feed.max-poll-timeout-ms:60000}")
+    private long maxPollTimeoutMillis;
+
+    public ChangeFeedService(DynamicDataSourceManager dataSourceManager, SchemaDiscoveryService schemaDiscoveryService,
+                             @Value("${dqe.feed.poller-threads:2}") int pollerThreads) {
+        this.dataSourceManager = dataSourceManager;
+        this.schemaDiscoveryService = schemaDiscoveryService;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(pollerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Streams the rows past the watermark as Server-Sent Events named {@code rows}. The emitter is returned right
+     * away; the rows the client is missing are sent by the poller threads once the emitter is attached to the
+     * response, so neither a servlet thread nor the heap carries the catch-up of a large table.
+     *
+     * @param credentials     the database credentials
+     * @param tableName       the table to watch
+     * @param watermarkColumn the monotonic column, such as an id or an update timestamp
+     * @param after           the last watermark the client has seen, or null for new rows only
+     * @return the emitter of the stream
+     * @throws SQLException if the table cannot be watched
+     */
+    public SseEmitter stream(DatabaseCredentials credentials, String tableName, String watermarkColumn, String after) throws SQLException {
+        FeedEmitter emitter = new FeedEmitter(sseTimeoutMillis);
+        Executor catchUpExecutor = task -> emitter.whenAttached(() -> scheduler.execute(task));
+        while (!getPoller(credentials, tableName, watermarkColumn).subscribe(emitter, after, catchUpExecutor)) {
+            log.debug("Change feed poller stopped while subscribing, retrying");
+        }
+        return emitter;
+    }
+
+    /**
+     * Waits for rows past the watermark, returning an empty batch if none arrive before the timeout.
+     *
+     * @param credentials     the database credentials
+     * @param tableName       the table to watch
+     * @param watermarkColumn the monotonic column, such as an id or an update timestamp
+     * @param after           the last watermark the client has seen, or null for new rows only
+     * @param timeoutMillis   the time to wait for new rows
+     * @return the deferred batch of rows
+     * @throws SQLException if the table cannot be watched
+     */
+    public DeferredResult<ResponseEntity<ChangeBatch>> poll(DatabaseCredentials credentials, String tableName, String watermarkColumn, String after, long timeoutMillis) throws SQLException {
+        DeferredResult<ResponseEntity<ChangeBatch>> result = new DeferredResult<>(Math.max(0, Math.min(timeoutMillis, maxPollTimeoutMillis)));
+        while (!getPoller(credentials, tableName, watermarkColumn).await(after, result)) {
+            log.debug("Change feed poller stopped while waiting, retrying");
+        }
+        return result;
+    }
+
+    /**
+     * Gets the shared poller of a table, creating and scheduling it on first use.
+     */
+    private TablePoller getPoller(DatabaseCredentials credentials, String tableName, String watermarkColumn) throws SQLException {
+        String dataSourceKey = dataSourceManager.getKey(credentials);
+        String key = dataSourceKey + "|" + tableName + "|" + watermarkColumn.toLowerCase();
+        TablePoller poller = pollers.get(key);
+        if (poller != null) {
+            return poller;
+        }
+
+        JdbcTemplate jdbcTemplate = dataSourceManager.getJdbcTemplateForDb(dataSourceKey);
+        if (jdbcTemplate == null) {
+            throw new SQLException("Unable to obtain JdbcTemplate for key: " + dataSourceKey);
+        }
+
+        // Use the column name as reported by the metadata, it is quoted in the polling query
+        String columnName = schemaDiscoveryService.listColumns(tableName, credentials).stream()
+                .map(column -> (String) column.get("COLUMN_NAME"))
+                .filter(watermarkColumn::equalsIgnoreCase)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown watermark column for table " + tableName + ": " + watermarkColumn));
+
+        SqlDialect dialect = dataSourceManager.getDialect(credentials);
+        TablePoller created = new TablePoller(jdbcTemplate, dialect, tableName, columnName, batchSize, retainedRows);
+        created.start();
+        TablePoller existing = pollers.putIfAbsent(key, created);
+        if (existing != null) {
+            // Another request created the poller first, this one was never scheduled
+            return existing;
+        }
+        created.setTask(scheduler.scheduleWithFixedDelay(() -> tick(key, created), pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS));
+        return created;
+    }
+
+    private void tick(String key, TablePoller poller) {
+        try {
+            poller.poll();
+        } catch (Exception e) {
+            log.error("Error polling for changes", e);
+        }
+        if (poller.stopIfIdle(TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis))) {
+            pollers.remove(key, poller);
+        }
+    }
+
+    /**
+     * Stops the pollers of a closed data source, which would otherwise keep querying its closed pool. Their
+     * subscribers are completed and reconnect to a new poller once the data source is open again.
+     *
+     * @param event the event naming the closed data source
+     */
+    @EventListener
+    public void onDataSourceClosed(DataSourceClosedEvent event) {
+        String prefix = event.key() + "|";
+        pollers.entrySet().removeIf(entry -> {
+            if (!entry.getKey().startsWith(prefix)) {
+                return false;
+            }
+            entry.getValue().stop();
+            return true;
+        });
+    }
+
+    /**
+     * Stops all the pollers on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        pollers.values().forEach(TablePoller::stop);
+        pollers.clear();
+    }
+}
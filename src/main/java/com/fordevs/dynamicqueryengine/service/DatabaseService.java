@@ -1,8 +1,13 @@
 package com.fordevs.dynamicqueryengine.service;
 
+import com.fordevs.dynamicqueryengine.dto.BulkLoadResult;
+import com.fordevs.dynamicqueryengine.dto.ChangeBatch;
 import com.fordevs.dynamicqueryengine.dto.DatabaseCredentials;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -51,4 +56,38 @@ public interface DatabaseService {
      * @return ResponseEntity with the query result.
      */
     ResponseEntity<List<Map<String, Object>>> executeQuery(String query);
+
+    /**
+     * Bulk loads CSV or NDJSON rows streamed from the request body into a table.
+     *
+     * @param tableName   The name of the table.
+     * @param contentType The content type of the body, text/csv or application/x-ndjson.
+     * @param mode        The commit mode, transactional or chunk.
+     * @param batchSize   The number of rows per batch.
+     * @param loadId      The id to follow the load under, or null to generate one.
+     * @param body        The request body.
+     * @return ResponseEntity with the outcome of the load.
+     */
+    ResponseEntity<BulkLoadResult> bulkLoad(String tableName, String contentType, String mode, int batchSize, String loadId, InputStream body);
+
+    /**
+     * Streams the rows added to a table past a watermark as Server-Sent Events.
+     *
+     * @param tableName       The name of the table.
+     * @param watermarkColumn The monotonic column, such as an id or an update timestamp.
+     * @param after           The last watermark seen by the client, or null for new rows only.
+     * @return ResponseEntity with the event stream.
+     */
+    ResponseEntity<SseEmitter> streamChanges(String tableName, String watermarkColumn, String after);
+
+    /**
+     * Long polls for the rows added to a table past a watermark.
+     *
+     * @param tableName       The name of the table.
+     * @param watermarkColumn The monotonic column, such as an id or an update timestamp.
+     * @param after           The last watermark seen by the client, or null for new rows only.
+     * @param timeoutMillis   The time to wait for new rows.
+     * @return DeferredResult with the new rows and the watermark to send next.
+     */
+    DeferredResult<ResponseEntity<ChangeBatch>> pollChanges(String tableName, String watermarkColumn, String after, long timeoutMillis);
 }
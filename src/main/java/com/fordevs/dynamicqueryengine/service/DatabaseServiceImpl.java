@@ -1,7 +1,11 @@
 package com.fordevs.dynamicqueryengine.service;
 
+import com.fordevs.dynamicqueryengine.bulk.BulkLoadFormat;
+import com.fordevs.dynamicqueryengine.bulk.BulkLoadMode;
 import com.fordevs.dynamicqueryengine.config.DataSourceContextService;
 import com.fordevs.dynamicqueryengine.config.DynamicDataSourceManager;
+import com.fordevs.dynamicqueryengine.dto.BulkLoadResult;
+import com.fordevs.dynamicqueryengine.dto.ChangeBatch;
 import com.fordevs.dynamicqueryengine.dto.DatabaseCredentials;
 import com.fordevs.dynamicqueryengine.dto.DynamicTableData;
 import lombok.extern.slf4j.Slf4j;
@@ -12,7 +16,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.jdbc.core.ColumnMapRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.sql.SQLException;
 import java.util.Collections;
 import java.util.HashMap;
@@ -37,6 +45,12 @@ public class DatabaseServiceImpl implements DatabaseService {
     @Autowired
     private SchemaDiscoveryService schemaDiscoveryService;
 
+    @Autowired
+    private BulkLoadService bulkLoadService;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
     @Autowired
     private Environment environment;
 
@@ -66,6 +80,10 @@ public class DatabaseServiceImpl implements DatabaseService {
             // Set the current JdbcTemplate in the data source context
             DataSourceContextService.setCurrentTemplate(jdbcTemplate);
             return ResponseEntity.ok("Connected successfully to database: " + databaseCredentials.getDatabaseName());
+        } catch (IllegalArgumentException e) {
+            // Unsupported database type or database name rejected by the dialect
+            log.error("Invalid connection request", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         } catch (Exception e) {
             log.error("Error connecting to the database", e);
             return handleException(e, "Error connecting to the database: ");
@@ -100,10 +118,8 @@ public class DatabaseServiceImpl implements DatabaseService {
         }
 
         try {
-            // Retrieve the key for the DataSource
-            String dataSourceKey = dynamicDataSourceManager.getKey(this.databaseCredentials);
             // Get the list of columns in the specified table
-            List<Map<String, Object>> columns = schemaDiscoveryService.listColumns(tableName, dataSourceKey);
+            List<Map<String, Object>> columns = schemaDiscoveryService.listColumns(tableName, this.databaseCredentials);
             return ResponseEntity.ok(columns);
         } catch (SQLException e) {
             log.error("SQL error listing columns for table: {}", tableName, e);
@@ -194,6 +210,79 @@ public class DatabaseServiceImpl implements DatabaseService {
         }
     }
 
+    @Override
+    public ResponseEntity<BulkLoadResult> bulkLoad(String tableName, String contentType, String mode, int batchSize, String loadId, InputStream body) {
+        // Check if credentials are set
+        if (this.databaseCredentials == null) {
+            log.error("Credentials must be set before calling this method.");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+
+        try {
+            // Resolve the input format and commit mode, rejecting unsupported values
+            BulkLoadFormat format = BulkLoadFormat.fromContentType(contentType);
+            BulkLoadMode loadMode = BulkLoadMode.fromString(mode);
+
+            // Stream the rows from the body into the table
+            BulkLoadResult result = bulkLoadService.load(loadId, tableName, this.databaseCredentials, format, loadMode, batchSize, body);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid bulk load request for table: {}", tableName, e);
+            return badRequest("Invalid bulk load request: " + e.getMessage());
+        } catch (IOException e) {
+            // Malformed CSV or NDJSON, or a body the client stopped sending
+            log.error("Invalid bulk load input for table: {}", tableName, e);
+            return badRequest("Invalid bulk load input: " + e.getMessage());
+        } catch (Exception e) {
+            log.error("Error loading data into table: {}", tableName, e);
+            return handleException(e, "Error loading data into table: ");
+        }
+    }
+
+    @Override
+    public ResponseEntity<SseEmitter> streamChanges(String tableName, String watermarkColumn, String after) {
+        // Check if credentials are set
+        if (this.databaseCredentials == null) {
+            log.error("Credentials must be set before calling this method.");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+
+        try {
+            // Subscribe to the shared poller of the table
+            return ResponseEntity.ok(changeFeedService.stream(this.databaseCredentials, tableName, watermarkColumn, after));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid change feed request for table: {}", tableName, e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        } catch (Exception e) {
+            log.error("Error streaming changes of table: {}", tableName, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @Override
+    public DeferredResult<ResponseEntity<ChangeBatch>> pollChanges(String tableName, String watermarkColumn, String after, long timeoutMillis) {
+        DeferredResult<ResponseEntity<ChangeBatch>> result = new DeferredResult<>();
+
+        // Check if credentials are set
+        if (this.databaseCredentials == null) {
+            log.error("Credentials must be set before calling this method.");
+            result.setResult(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null));
+            return result;
+        }
+
+        try {
+            // Wait on the shared poller of the table
+            return changeFeedService.poll(this.databaseCredentials, tableName, watermarkColumn, after, timeoutMillis);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid change feed request for table: {}", tableName, e);
+            result.setResult(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null));
+        } catch (Exception e) {
+            log.error("Error polling changes of table: {}", tableName, e);
+            result.setResult(handleException(e, "Error polling changes of table: "));
+        }
+        return result;
+    }
+
     /**
      * Validates the SQL query to prevent SQL injection.
      *
@@ -218,6 +307,16 @@ public class DatabaseServiceImpl implements DatabaseService {
         return databaseCredentials.getDatabaseName() != null && !databaseCredentials.getDatabaseName().isEmpty() && databaseCredentials.getHost() != null && !databaseCredentials.getHost().isEmpty() && databaseCredentials.getUserName() != null && !databaseCredentials.getUserName().isEmpty() && databaseCredentials.getPassword() != null && !databaseCredentials.getPassword().isEmpty();
     }
 
+    /**
+     * Builds a BAD_REQUEST response explaining what was wrong with the client input.
+     *
+     * @param message The message for the client.
+     * @return ResponseEntity with the message.
+     */
+    private <T> ResponseEntity<T> badRequest(String message) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body((T) message);
+    }
+
     /**
      * Handles exceptions based on the active environment.
      *
@@ -0,0 +1,101 @@
+package com.fordevs.dynamicqueryengine.service;
+
+import com.fordevs.dynamicqueryengine.dto.BulkLoadResult;
+import com.fordevs.dynamicqueryengine.dto.ChangeBatch;
+import com.fordevs.dynamicqueryengine.dto.DatabaseCredentials;
+import com.fordevs.dynamicqueryengine.scheduling.AdmissionScheduler;
+import com.fordevs.dynamicqueryengine.scheduling.SchedulerProperties;
+import com.fordevs.dynamicqueryengine.scheduling.WorkloadClass;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DatabaseService that admits every call through the {@link AdmissionScheduler} before delegating to
+ * {@link DatabaseServiceImpl}. Calls are classified by workload and attributed to the tenant sent in the
+ * {@value #TENANT_HEADER} header when that tenant is configured, or to the default tenant otherwise.
+ */
+@Primary
+@Service
+public class ScheduledDatabaseService implements DatabaseService {
+
+    static final String TENANT_HEADER = "X-Tenant-Id";
+
+    private final DatabaseServiceImpl delegate;
+    private final AdmissionScheduler admissionScheduler;
+    private final SchedulerProperties schedulerProperties;
+
+    public ScheduledDatabaseService(DatabaseServiceImpl delegate, AdmissionScheduler admissionScheduler, SchedulerProperties schedulerProperties) {
+        this.delegate = delegate;
+        this.admissionScheduler = admissionScheduler;
+        this.schedulerProperties = schedulerProperties;
+    }
+
+    @Override
+    public ResponseEntity<String> setDatabaseConnection(DatabaseCredentials databaseCredentials) {
+        return admissionScheduler.run(currentTenant(), WorkloadClass.INTERACTIVE, () -> delegate.setDatabaseConnection(databaseCredentials));
+    }
+
+    @Override
+    public ResponseEntity<List<String>> listTables() {
+        return admissionScheduler.run(currentTenant(), WorkloadClass.INTERACTIVE, delegate::listTables);
+    }
+
+    @Override
+    public ResponseEntity<List<Map<String, Object>>> listColumns(String tableName) {
+        return admissionScheduler.run(currentTenant(), WorkloadClass.INTERACTIVE, () -> delegate.listColumns(tableName));
+    }
+
+    @Override
+    public ResponseEntity<Map<String, Object>> getTableData(String tableName, int page, int size) {
+        return admissionScheduler.run(currentTenant(), WorkloadClass.PAGE_BROWSE, () -> delegate.getTableData(tableName, page, size));
+    }
+
+    @Override
+    public ResponseEntity<List<Map<String, Object>>> executeQuery(String query) {
+        return admissionScheduler.run(currentTenant(), WorkloadClass.ADHOC_QUERY, () -> delegate.executeQuery(query));
+    }
+
+    @Override
+    public ResponseEntity<BulkLoadResult> bulkLoad(String tableName, String contentType, String mode, int batchSize, String loadId, InputStream body) {
+        return admissionScheduler.run(currentTenant(), WorkloadClass.BULK, () -> delegate.bulkLoad(tableName, contentType, mode, batchSize, loadId, body));
+    }
+
+    @Override
+    public ResponseEntity<SseEmitter> streamChanges(String tableName, String watermarkColumn, String after) {
+        // Only the subscription is scheduled, the rows are then pushed by the shared poller
+        return admissionScheduler.run(currentTenant(), WorkloadClass.PAGE_BROWSE, () -> delegate.streamChanges(tableName, watermarkColumn, after));
+    }
+
+    @Override
+    public DeferredResult<ResponseEntity<ChangeBatch>> pollChanges(String tableName, String watermarkColumn, String after, long timeoutMillis) {
+        return admissionScheduler.run(currentTenant(), WorkloadClass.PAGE_BROWSE, () -> delegate.pollChanges(tableName, watermarkColumn, after, timeoutMillis));
+    }
+
+    /**
+     * Gets the tenant of the current request from the tenant header.
+     *
+     * @return the tenant, or "default" when the header is missing or names a tenant that is not configured
+     */
+    private String currentTenant() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            String tenant = request.getHeader(TENANT_HEADER);
+            if (tenant != null && !tenant.isBlank()) {
+                return schedulerProperties.resolveTenant(tenant.trim());
+            }
+        }
+        return SchedulerProperties.DEFAULT_TENANT;
+    }
+}
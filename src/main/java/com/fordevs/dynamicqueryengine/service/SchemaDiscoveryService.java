@@ -1,9 +1,14 @@
 package com.fordevs.dynamicqueryengine.service;
 
+import com.fordevs.dynamicqueryengine.config.DataSourceClosedEvent;
 import com.fordevs.dynamicqueryengine.config.DynamicDataSourceManager;
+import com.fordevs.dynamicqueryengine.dialect.PagedQuery;
+import com.fordevs.dynamicqueryengine.dialect.SqlDialect;
 import com.fordevs.dynamicqueryengine.dto.DatabaseCredentials;
 import com.fordevs.dynamicqueryengine.dto.DynamicTableData;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.dao.DataAccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,9 +20,14 @@ import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @Slf4j
@@ -25,6 +35,19 @@ public class SchemaDiscoveryService {
 
     private final DynamicDataSourceManager dataSourceManager;
 
+    // Tables with at least this many estimated rows report the catalog estimate instead of an exact count
+    @Value("${dqe.pagination.fast-count-threshold:100000}")
+    private long fastCountThreshold;
+
+    // Column metadata by data source key and table, reloaded once this long after its first use; 0 disables the cache
+    @Value("${dqe.metadata.cache-ttl-ms:60000}")
+    private long metadataCacheTtlMillis;
+
+    // Column metadata by data source key, then by table
+    private final Map<String, Map<String, CachedColumns>> columnCache = new ConcurrentHashMap<>();
+    // Last time expired entries were swept from the column cache
+    private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime());
+
     public SchemaDiscoveryService(DynamicDataSourceManager dataSourceManager) {
         this.dataSourceManager = dataSourceManager;
     }
@@ -41,10 +64,13 @@ public class SchemaDiscoveryService {
             throw new SQLException("Unable to obtain JdbcTemplate for given credentials.");
         }
 
+        SqlDialect dialect = dataSourceManager.getDialect(credentials);
         return jdbcTemplate.execute((Connection con) -> {
             List<String> tableList = new ArrayList<>();
             DatabaseMetaData metaData = con.getMetaData();
-            try (ResultSet rs = metaData.getTables(null, "public", "%", new String[]{"TABLE"})) {
+            String catalog = dialect.resolveDefaultCatalog(con);
+            String schema = dialect.resolveDefaultSchema(con, credentials);
+            try (ResultSet rs = metaData.getTables(catalog, schema, "%", new String[]{"TABLE"})) {
                 while (rs.next()) {
                     tableList.add(rs.getString("TABLE_NAME"));
                 }
@@ -55,28 +81,117 @@ public class SchemaDiscoveryService {
 
     /**
      * Obtiene la lista de columnas de una tabla en la base de datos y la devuelve como una lista de mapas
-     * con el nombre de la columna, el tipo de dato y el tamaño de la columna
+     * con el nombre de la columna, el tipo de dato (nombre y código de java.sql.Types) y el tamaño de la columna.
+     * Solo se buscan columnas en el catálogo y esquema por defecto del dialecto, como en listTables, para no mezclar
+     * tablas con el mismo nombre en otros esquemas; un nombre calificado como esquema.tabla usa ese esquema.
+     * Los metadatos se guardan en caché durante dqe.metadata.cache-ttl-ms, ya que cada página de datos los consulta,
+     * por lo que un cambio de DDL puede tardar ese tiempo en verse.
+     */
+    public List<Map<String, Object>> listColumns(String tableName, DatabaseCredentials credentials) throws SQLException {
+        String credentialsKey = dataSourceManager.getKey(credentials);
+        long ttlNanos = TimeUnit.MILLISECONDS.toNanos(metadataCacheTtlMillis);
+        Map<String, CachedColumns> tables = columnCache.get(credentialsKey);
+        CachedColumns cached = tables == null ? null : tables.get(tableName);
+        if (cached != null && cached.preloaded() && ttlNanos > 0) {
+            // El TTL de los metadatos precargados empieza con su primer uso
+            tables.replace(tableName, cached, new CachedColumns(cached.columns(), System.nanoTime(), false));
+            return cached.columns();
+        }
+        if (cached != null && System.nanoTime() - cached.loadedAtNanos() < ttlNanos) {
+            return cached.columns();
+        }
+
+        List<Map<String, Object>> columns = loadColumns(tableName, credentials, credentialsKey);
+        cacheColumns(credentialsKey, tableName, columns, false, ttlNanos);
+        return columns;
+    }
+
+    /**
+     * Carga en caché los metadatos de columnas de una tabla durante el calentamiento. No caducan hasta su primer uso,
+     * para que un nodo que tarda más que el TTL en recibir su primera petición no los pierda; desde ese uso caducan
+     * como los demás.
+     */
+    public void preloadColumns(String tableName, DatabaseCredentials credentials) throws SQLException {
+        String credentialsKey = dataSourceManager.getKey(credentials);
+        List<Map<String, Object>> columns = loadColumns(tableName, credentials, credentialsKey);
+        cacheColumns(credentialsKey, tableName, columns, true, TimeUnit.MILLISECONDS.toNanos(metadataCacheTtlMillis));
+    }
+
+    private void cacheColumns(String credentialsKey, String tableName, List<Map<String, Object>> columns, boolean preloaded, long ttlNanos) {
+        // Una tabla sin columnas no existe todavía, no se guarda para detectarla en cuanto se cree
+        if (ttlNanos > 0 && !columns.isEmpty()) {
+            evictExpiredColumns(ttlNanos);
+            columnCache.computeIfAbsent(credentialsKey, key -> new ConcurrentHashMap<>())
+                    .put(tableName, new CachedColumns(columns, System.nanoTime(), preloaded));
+        }
+    }
+
+    /**
+     * Cuenta las tablas con metadatos de columnas en caché.
+     */
+    int getCachedTableCount() {
+        return columnCache.values().stream().mapToInt(Map::size).sum();
+    }
+
+    /**
+     * Elimina de la caché los metadatos de columnas de una fuente de datos cerrada.
      */
-    public List<Map<String, Object>> listColumns(String tableName, String credentialsKey) throws SQLException {
+    @EventListener
+    public void onDataSourceClosed(DataSourceClosedEvent event) {
+        columnCache.remove(event.key());
+    }
+
+    /**
+     * Elimina de la caché las columnas caducadas, como mucho una vez por TTL, para que las tablas y fuentes de datos
+     * que ya no se consultan no se acumulen. Las columnas precargadas no usadas todavía se conservan.
+     */
+    private void evictExpiredColumns(long ttlNanos) {
+        long now = System.nanoTime();
+        long lastSweep = lastSweepNanos.get();
+        if (now - lastSweep < ttlNanos || !lastSweepNanos.compareAndSet(lastSweep, now)) {
+            return;
+        }
+        for (Map<String, CachedColumns> tables : columnCache.values()) {
+            tables.values().removeIf(cached -> !cached.preloaded() && now - cached.loadedAtNanos() >= ttlNanos);
+        }
+        columnCache.values().removeIf(Map::isEmpty);
+    }
+
+    private List<Map<String, Object>> loadColumns(String tableName, DatabaseCredentials credentials, String credentialsKey) throws SQLException {
         JdbcTemplate jdbcTemplate = dataSourceManager.getJdbcTemplateForDb(credentialsKey);
 
         if (jdbcTemplate == null) {
             throw new SQLException("Unable to obtain JdbcTemplate for key: " + credentialsKey);
         }
 
+        SqlDialect dialect = dataSourceManager.getDialect(credentials);
         return jdbcTemplate.execute((Connection con) -> {
             List<Map<String, Object>> columnList = new ArrayList<>();
             DatabaseMetaData metaData = con.getMetaData();
-            try (ResultSet rs = metaData.getColumns(null, null, tableName, "%")) {
+            String catalog = dialect.resolveDefaultCatalog(con);
+            String schema = dialect.resolveDefaultSchema(con, credentials);
+            String table = tableName;
+            int dot = tableName.lastIndexOf('.');
+            if (dot > 0) {
+                // En bases de datos sin esquemas, como MySQL, el prefijo es la base de datos
+                if (schema == null) {
+                    catalog = tableName.substring(0, dot);
+                } else {
+                    schema = tableName.substring(0, dot);
+                }
+                table = tableName.substring(dot + 1);
+            }
+            try (ResultSet rs = metaData.getColumns(catalog, schema, table, "%")) {
                 while (rs.next()) {
                     Map<String, Object> column = new HashMap<>();
                     column.put("COLUMN_NAME", rs.getString("COLUMN_NAME"));
                     column.put("TYPE_NAME", rs.getString("TYPE_NAME"));
+                    column.put("DATA_TYPE", rs.getInt("DATA_TYPE"));
                     column.put("COLUMN_SIZE", rs.getInt("COLUMN_SIZE"));
-                    columnList.add(column);
+                    columnList.add(Collections.unmodifiableMap(column));
                 }
             }
-            return columnList;
+            return Collections.unmodifiableList(columnList);
         });
     }
 
@@ -93,15 +208,16 @@ public class SchemaDiscoveryService {
                 throw new SQLException("Unable to obtain JdbcTemplate for key: " + key);
             }
 
-            // Obtiene los datos de las filas.
-            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
-                    "SELECT * FROM " + tableName + " LIMIT ? OFFSET ?", size, page * size
-            );
+            // Obtiene los datos de las filas con la sintaxis de paginación nativa de la base de datos.
+            SqlDialect dialect = dataSourceManager.getDialect(credentials);
+            String qualifiedTable = dialect.quoteQualifiedName(tableName);
+            PagedQuery pagedQuery = dialect.selectPage(qualifiedTable, size, page * size);
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(pagedQuery.sql(), pagedQuery.args());
 
             // Obtiene los metadatos de las columnas.
-            List<Map<String, Object>> columns = listColumns(tableName, key);
+            List<Map<String, Object>> columns = listColumns(tableName, credentials);
 
-            int totalRows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + tableName, Integer.class);
+            int totalRows = countRows(jdbcTemplate, dialect, credentials, tableName, qualifiedTable);
 
 
             DynamicTableData response = new DynamicTableData();
@@ -122,4 +238,30 @@ public class SchemaDiscoveryService {
         }
 
     }
+
+    /**
+     * Cuenta las filas de una tabla. Para tablas grandes usa la estimación de las estadísticas del catálogo
+     * en lugar de un COUNT(*) completo; las tablas pequeñas o sin estadísticas se cuentan de forma exacta.
+     * Si las estadísticas no se pueden leer, por ejemplo sin VIEW DATABASE STATE en SQL Server, también se cuenta exacto.
+     */
+    private int countRows(JdbcTemplate jdbcTemplate, SqlDialect dialect, DatabaseCredentials credentials, String tableName, String qualifiedTable) {
+        OptionalLong estimate;
+        try {
+            estimate = jdbcTemplate.execute((Connection con) -> dialect.estimateRowCount(con, credentials, tableName));
+        } catch (DataAccessException e) {
+            log.debug("Unable to estimate the rows of table {}, counting them", tableName, e);
+            estimate = OptionalLong.empty();
+        }
+        if (estimate != null && estimate.isPresent() && estimate.getAsLong() >= fastCountThreshold) {
+            return (int) Math.min(estimate.getAsLong(), Integer.MAX_VALUE);
+        }
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + qualifiedTable, Integer.class);
+    }
+
+    /**
+     * Metadatos de columnas en caché, el momento en que se cargaron o se usaron por primera vez tras precargarse,
+     * y si son precargados sin usar todavía.
+     */
+    private record CachedColumns(List<Map<String, Object>> columns, long loadedAtNanos, boolean preloaded) {
+    }
 }
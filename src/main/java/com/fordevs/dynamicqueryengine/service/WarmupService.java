@@ -0,0 +1,107 @@
+package com.fordevs.dynamicqueryengine.service;
+
+import com.fordevs.dynamicqueryengine.config.DynamicDataSourceManager;
+import com.fordevs.dynamicqueryengine.config.StartupMetrics;
+import com.fordevs.dynamicqueryengine.config.WarmupProperties;
+import com.fordevs.dynamicqueryengine.dto.DatabaseCredentials;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service class to warm up the data sources of the warm-up manifest once the context has started.
+ * Opening the pool connections and loading the table and column metadata ahead of time keeps the first requests
+ * from paying for them. The application is reported ready once the warm-up ends or times out; a data source that
+ * cannot be warmed up is logged and left to be created on first use, it never fails the startup.
+ */
+@Slf4j
+@Service
+public class WarmupService implements ApplicationRunner {
+
+    private final WarmupProperties properties;
+    private final DynamicDataSourceManager dataSourceManager;
+    private final SchemaDiscoveryService schemaDiscoveryService;
+    private final StartupMetrics startupMetrics;
+
+    public WarmupService(WarmupProperties properties, DynamicDataSourceManager dataSourceManager,
+                         SchemaDiscoveryService schemaDiscoveryService, StartupMetrics startupMetrics) {
+        this.properties = properties;
+        this.dataSourceManager = dataSourceManager;
+        this.schemaDiscoveryService = schemaDiscoveryService;
+        this.startupMetrics = startupMetrics;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<WarmupProperties.DataSourceEntry> entries = properties.getDataSources();
+        if (!properties.isEnabled() || entries.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(properties.getParallelism(), entries.size())), runnable -> {
+            Thread thread = new Thread(runnable, "warmup-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (WarmupProperties.DataSourceEntry entry : entries) {
+                futures.add(executor.submit(() -> warmUp(entry)));
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(properties.getTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Warm-up did not finish within {} ms, the remaining data sources are warmed up on first use", properties.getTimeoutMillis());
+                futures.forEach(future -> future.cancel(true));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Warmed up {} data sources in {} ms", entries.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void warmUp(WarmupProperties.DataSourceEntry entry) {
+        DatabaseCredentials credentials = entry.toCredentials();
+        String name = credentials.getDatabaseType() + "://" + credentials.getHost() + ":" + credentials.getPort() + "/" + credentials.getDatabaseName();
+        Map<String, Object> result = new LinkedHashMap<>();
+        long start = System.nanoTime();
+        try {
+            result.put("connections", dataSourceManager.prefillPool(credentials, entry.getConnections()));
+            result.put("poolMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+            if (entry.isPreloadMetadata()) {
+                long metadataStart = System.nanoTime();
+                List<String> tables = schemaDiscoveryService.listTables(credentials);
+                for (String table : tables) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        break;
+                    }
+                    schemaDiscoveryService.preloadColumns(table, credentials);
+                }
+                result.put("tables", tables.size());
+                result.put("metadataMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - metadataStart));
+            }
+            result.put("status", "ok");
+            log.info("Warmed up {} in {} ms", name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception e) {
+            result.put("status", "failed");
+            result.put("error", e.getMessage());
+            log.warn("Error warming up {}, it will be connected on first use", name, e);
+        }
+        startupMetrics.recordWarmup(name, result);
+    }
+}
@@ -0,0 +1,138 @@
+package com.fordevs.dynamicqueryengine.bulk;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvRowReaderTest {
+
+    @Test
+    void readsHeaderAndRows() throws IOException {
+        List<String[]> rows = readAll("id,name\n1,Ada\n2,Grace\n");
+
+        assertThat(rows).containsExactly(new String[]{"1", "Ada"}, new String[]{"2", "Grace"});
+    }
+
+    @Test
+    void trimsHeaderNames() throws IOException {
+        try (CsvRowReader reader = new CsvRowReader(new StringReader(" id , name \n1,Ada\n"))) {
+            assertThat(reader.getColumns()).containsExactly("id", "name");
+        }
+    }
+
+    @Test
+    void readsQuotedFieldsWithDelimitersQuotesAndLineBreaks() throws IOException {
+        List<String[]> rows = readAll("id,note\n1,\"a, b\"\n2,\"say \"\"hi\"\"\"\n3,\"line one\nline two\"\n");
+
+        assertThat(rows).containsExactly(
+                new String[]{"1", "a, b"},
+                new String[]{"2", "say \"hi\""},
+                new String[]{"3", "line one\nline two"});
+    }
+
+    @Test
+    void readsCrLfLineEndings() throws IOException {
+        List<String[]> rows = readAll("id,name\r\n1,\"Ada\"\r\n2,Grace");
+
+        assertThat(rows).containsExactly(new String[]{"1", "Ada"}, new String[]{"2", "Grace"});
+    }
+
+    @Test
+    void readsCrLfSplitAcrossReads() throws IOException {
+        // One character per read, so the CR and LF of each line break come from separate buffer fills
+        List<String[]> rows = readAll(new OneCharReader("id,name\r\n1,Ada\r\n2,Grace\r\n"));
+
+        assertThat(rows).containsExactly(new String[]{"1", "Ada"}, new String[]{"2", "Grace"});
+    }
+
+    @Test
+    void skipsBlankLines() throws IOException {
+        List<String[]> rows = readAll("id,name\n1,Ada\n\n\r\n2,Grace\n\n");
+
+        assertThat(rows).containsExactly(new String[]{"1", "Ada"}, new String[]{"2", "Grace"});
+    }
+
+    @Test
+    void readsUnquotedEmptyFieldAsNullAndQuotedEmptyFieldAsEmptyString() throws IOException {
+        List<String[]> rows = readAll("a,b,c\n,\"\",x\n");
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)).containsExactly(null, "", "x");
+    }
+
+    @Test
+    void rejectsRowsWithTheWrongNumberOfFields() {
+        assertThatThrownBy(() -> readAll("id,name\n1,Ada,extra\n"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("has 3 fields, expected 2");
+    }
+
+    @Test
+    void rejectsUnterminatedQuotedField() {
+        assertThatThrownBy(() -> readAll("id,name\n1,\"Ada\n"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Unterminated quoted field");
+    }
+
+    @Test
+    void rejectsCharactersAfterClosingQuote() {
+        assertThatThrownBy(() -> readAll("id,name\n1,\"Ada\"x\n"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Unexpected character after quoted field");
+    }
+
+    @Test
+    void rejectsEmptyInput() {
+        assertThatThrownBy(() -> readAll(""))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("header row");
+    }
+
+    private static List<String[]> readAll(String csv) throws IOException {
+        return readAll(new StringReader(csv));
+    }
+
+    private static List<String[]> readAll(Reader input) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        try (CsvRowReader reader = new CsvRowReader(input)) {
+            String[] row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Reader returning at most one character per read.
+     */
+    private static final class OneCharReader extends Reader {
+
+        private final String text;
+        private int position;
+
+        private OneCharReader(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == text.length()) {
+                return -1;
+            }
+            buffer[offset] = text.charAt(position++);
+            return 1;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.fordevs.dynamicqueryengine.bulk;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NdjsonRowReaderTest {
+
+    @Test
+    void takesColumnsFromFirstObject() throws IOException {
+        try (NdjsonRowReader reader = new NdjsonRowReader(new StringReader("{\"id\":1,\"name\":\"Ada\"}\n"))) {
+            assertThat(reader.getColumns()).containsExactly("id", "name");
+            assertThat(reader.next()).containsExactly("1", "Ada");
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void readsMissingAndNullFieldsAsNull() throws IOException {
+        List<String[]> rows = readAll("{\"id\":1,\"name\":\"Ada\"}\n{\"id\":2}\n{\"id\":3,\"name\":null}\n");
+
+        assertThat(rows.get(1)).containsExactly("2", null);
+        assertThat(rows.get(2)).containsExactly("3", null);
+    }
+
+    @Test
+    void rejectsFieldsMissingFromFirstObject() {
+        assertThatThrownBy(() -> readAll("{\"id\":1}\n{\"id\":2,\"name\":\"Grace\"}\n"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("line 2")
+                .hasMessageContaining("'name'");
+    }
+
+    @Test
+    void writesNestedValuesAsJson() throws IOException {
+        List<String[]> rows = readAll("{\"id\":1,\"tags\":[\"a\",\"b\"],\"price\":1.5}\n");
+
+        assertThat(rows.get(0)).containsExactly("1", "[\"a\",\"b\"]", "1.5");
+    }
+
+    @Test
+    void keepsDecimalsExactly() throws IOException {
+        List<String[]> rows = readAll("{\"amount\":12345678901234567.89}\n{\"amount\":1.50}\n{\"amount\":1e3}\n");
+
+        assertThat(rows).containsExactly(new String[]{"12345678901234567.89"}, new String[]{"1.50"}, new String[]{"1000"});
+    }
+
+    @Test
+    void skipsBlankLines() throws IOException {
+        List<String[]> rows = readAll("\n{\"id\":1}\n\n{\"id\":2}\n\n");
+
+        assertThat(rows).containsExactly(new String[]{"1"}, new String[]{"2"});
+    }
+
+    @Test
+    void rejectsLinesThatAreNotObjects() {
+        assertThatThrownBy(() -> readAll("{\"id\":1}\n[1]\n"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("not a JSON object");
+    }
+
+    private static List<String[]> readAll(String ndjson) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        try (NdjsonRowReader reader = new NdjsonRowReader(new StringReader(ndjson))) {
+            String[] row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
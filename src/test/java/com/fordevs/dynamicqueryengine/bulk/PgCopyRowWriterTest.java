@@ -0,0 +1,46 @@
+package com.fordevs.dynamicqueryengine.bulk;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PgCopyRowWriterTest {
+
+    @Test
+    void writesNullAsUnquotedEmptyField() {
+        assertThat(encode(null)).isEmpty();
+    }
+
+    @Test
+    void quotesEmptyStringSoItIsNotReadAsNull() {
+        assertThat(encode("")).isEqualTo("\"\"");
+    }
+
+    @Test
+    void writesPlainValuesAsIs() {
+        assertThat(encode("Ada Lovelace")).isEqualTo("Ada Lovelace");
+    }
+
+    @Test
+    void quotesDelimitersAndLineBreaks() {
+        assertThat(encode("a,b")).isEqualTo("\"a,b\"");
+        assertThat(encode("a\nb")).isEqualTo("\"a\nb\"");
+        assertThat(encode("a\r\nb")).isEqualTo("\"a\r\nb\"");
+    }
+
+    @Test
+    void doublesEmbeddedQuotes() {
+        assertThat(encode("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\"");
+    }
+
+    @Test
+    void quotesBackslashesSoTheEndMarkerIsNotMatched() {
+        assertThat(encode("\\.")).isEqualTo("\"\\.\"");
+    }
+
+    private static String encode(String value) {
+        StringBuilder buffer = new StringBuilder();
+        PgCopyRowWriter.appendCsv(buffer, value);
+        return buffer.toString();
+    }
+}
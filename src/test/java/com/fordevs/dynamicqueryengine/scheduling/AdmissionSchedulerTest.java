@@ -0,0 +1,186 @@
+package com.fordevs.dynamicqueryengine.scheduling;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionSchedulerTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<Thread> threads = new ArrayList<>();
+    private final List<String> admitted = Collections.synchronizedList(new ArrayList<>());
+    private final List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        releaseSlot();
+    }
+
+    @Test
+    void admitsWaitingFlowsInStartTagOrder() throws InterruptedException {
+        AdmissionScheduler scheduler = new AdmissionScheduler(properties(10, 10, 5_000), 200);
+        holdSlot(scheduler);
+
+        enqueue(scheduler, "a", 1);
+        enqueue(scheduler, "a", 2);
+        enqueue(scheduler, "a", 3);
+        enqueue(scheduler, "b", 4);
+        releaseSlot();
+
+        assertThat(failures).isEmpty();
+        assertThat(admitted).containsExactly("a", "b", "a", "a");
+    }
+
+    @Test
+    void admitsTenantsInProportionToTheirShares() throws InterruptedException {
+        SchedulerProperties properties = properties(10, 10, 5_000);
+        properties.getTenantShares().put("gold", 2.0);
+        AdmissionScheduler scheduler = new AdmissionScheduler(properties, 200);
+        holdSlot(scheduler);
+
+        for (int i = 1; i <= 4; i++) {
+            enqueue(scheduler, "gold", i);
+        }
+        enqueue(scheduler, "basic", 5);
+        enqueue(scheduler, "basic", 6);
+        releaseSlot();
+
+        assertThat(failures).isEmpty();
+        assertThat(admitted).containsExactly("gold", "basic", "gold", "gold", "basic", "gold");
+    }
+
+    @Test
+    void rejectsTenantOverItsQueueLimitButQueuesOtherTenants() throws InterruptedException {
+        AdmissionScheduler scheduler = new AdmissionScheduler(properties(10, 2, 5_000), 200);
+        holdSlot(scheduler);
+        enqueue(scheduler, "a", 1);
+        enqueue(scheduler, "a", 2);
+
+        assertThatThrownBy(() -> scheduler.run("a", WorkloadClass.INTERACTIVE, () -> "a"))
+                .isInstanceOf(AdmissionRejectedException.class)
+                .hasMessageContaining("tenant a");
+        enqueue(scheduler, "b", 3);
+        releaseSlot();
+
+        assertThat(failures).isEmpty();
+        assertThat(admitted).containsExactlyInAnyOrder("a", "a", "b");
+        assertThat(classStats(scheduler).get("rejected")).isEqualTo(1L);
+    }
+
+    @Test
+    void rejectsClassOverItsQueueLimit() throws InterruptedException {
+        AdmissionScheduler scheduler = new AdmissionScheduler(properties(2, 2, 5_000), 200);
+        holdSlot(scheduler);
+        enqueue(scheduler, "a", 1);
+        enqueue(scheduler, "b", 2);
+
+        assertThatThrownBy(() -> scheduler.run("c", WorkloadClass.INTERACTIVE, () -> "c"))
+                .isInstanceOf(AdmissionRejectedException.class)
+                .hasMessage("Too many queued INTERACTIVE requests");
+    }
+
+    @Test
+    void rejectsRequestsWaitingLongerThanTheClassLimit() throws InterruptedException {
+        AdmissionScheduler scheduler = new AdmissionScheduler(properties(10, 10, 50), 200);
+        holdSlot(scheduler);
+
+        assertThatThrownBy(() -> scheduler.run("a", WorkloadClass.INTERACTIVE, () -> "a"))
+                .isInstanceOf(AdmissionRejectedException.class)
+                .hasMessageContaining("Timed out");
+        assertThat(classStats(scheduler).get("queued")).isEqualTo(0);
+        assertThat(classStats(scheduler).get("timedOut")).isEqualTo(1L);
+    }
+
+    @Test
+    void refusesQueueLimitsThatCanHoldEveryServletThread() {
+        SchedulerProperties properties = new SchedulerProperties();
+        int heldThreads = properties.getMaxConcurrency() + properties.getTotalQueueLimit();
+
+        assertThatThrownBy(() -> new AdmissionScheduler(properties, heldThreads))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("server.tomcat.threads.max");
+        assertThatCode(() -> new AdmissionScheduler(properties, 200)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void schedulesUnconfiguredTenantsAsTheDefaultTenant() {
+        SchedulerProperties properties = new SchedulerProperties();
+        properties.getTenantShares().put("gold", 2.0);
+
+        assertThat(properties.resolveTenant("gold")).isEqualTo("gold");
+        assertThat(properties.resolveTenant("made-up-" + System.nanoTime())).isEqualTo(SchedulerProperties.DEFAULT_TENANT);
+        assertThat(properties.resolveTenant(null)).isEqualTo(SchedulerProperties.DEFAULT_TENANT);
+    }
+
+    private static SchedulerProperties properties(int queueLimit, int tenantQueueLimit, long maxWaitMillis) {
+        SchedulerProperties properties = new SchedulerProperties();
+        properties.setMaxConcurrency(1);
+        properties.setInteractive(new SchedulerProperties.ClassSettings(1, queueLimit, tenantQueueLimit, 1, maxWaitMillis));
+        return properties;
+    }
+
+    /**
+     * Takes the only execution slot until the test releases it.
+     */
+    private void holdSlot(AdmissionScheduler scheduler) throws InterruptedException {
+        start(() -> scheduler.run("holder", WorkloadClass.INTERACTIVE, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        awaitStat(scheduler, "running", 1);
+    }
+
+    /**
+     * Queues a request of the tenant and waits until the scheduler holds {@code queued} requests.
+     */
+    private void enqueue(AdmissionScheduler scheduler, String tenant, int queued) throws InterruptedException {
+        start(() -> scheduler.run(tenant, WorkloadClass.INTERACTIVE, () -> admitted.add(tenant)));
+        awaitStat(scheduler, "queued", queued);
+    }
+
+    private void releaseSlot() throws InterruptedException {
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join(5_000);
+        }
+    }
+
+    private void start(Runnable runnable) {
+        Thread thread = new Thread(() -> {
+            try {
+                runnable.run();
+            } catch (Throwable e) {
+                failures.add(e);
+            }
+        });
+        threads.add(thread);
+        thread.start();
+    }
+
+    private static void awaitStat(AdmissionScheduler scheduler, String name, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Integer.valueOf(expected).equals(classStats(scheduler).get(name))) {
+            assertThat(System.nanoTime()).as("waiting for %s = %d", name, expected).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> classStats(AdmissionScheduler scheduler) {
+        return (Map<String, Object>) scheduler.getStats().get(WorkloadClass.INTERACTIVE.name());
+    }
+}
@@ -0,0 +1,104 @@
+package com.fordevs.dynamicqueryengine.service;
+
+import com.fordevs.dynamicqueryengine.config.DataSourceClosedEvent;
+import com.fordevs.dynamicqueryengine.config.DynamicDataSourceManager;
+import com.fordevs.dynamicqueryengine.dialect.H2Dialect;
+import com.fordevs.dynamicqueryengine.dialect.SqlDialectRegistry;
+import com.fordevs.dynamicqueryengine.dto.DatabaseCredentials;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchemaDiscoveryServiceTest {
+
+    private static final long TTL_MILLIS = 200;
+
+    private final DatabaseCredentials credentials = new DatabaseCredentials("h2", "localhost", 9092, "mem:" + UUID.randomUUID(), "sa", "");
+    private final DynamicDataSourceManager dataSourceManager = new DynamicDataSourceManager(
+            new SqlDialectRegistry(List.of(new H2Dialect())), event -> onEvent(event));
+    private final SchemaDiscoveryService service = new SchemaDiscoveryService(dataSourceManager);
+    private final JdbcTemplate jdbcTemplate;
+
+    SchemaDiscoveryServiceTest() {
+        ReflectionTestUtils.setField(service, "metadataCacheTtlMillis", TTL_MILLIS);
+        assertThat(dataSourceManager.createAndTestConnection(credentials)).isTrue();
+        jdbcTemplate = dataSourceManager.getJdbcTemplateForDb(dataSourceManager.getKey(credentials));
+        jdbcTemplate.execute("CREATE TABLE ORDERS (ID INT, AMOUNT DECIMAL(10, 2))");
+        jdbcTemplate.execute("CREATE TABLE CUSTOMERS (ID INT, NAME VARCHAR(50))");
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        jdbcTemplate.execute("SHUTDOWN");
+        dataSourceManager.closeDataSource(dataSourceManager.getKey(credentials));
+    }
+
+    @Test
+    void servesCachedColumnsUntilTheTtlExpires() throws Exception {
+        assertThat(service.listColumns("ORDERS", credentials)).hasSize(2);
+        jdbcTemplate.execute("ALTER TABLE ORDERS ADD COLUMN STATUS VARCHAR(10)");
+
+        assertThat(service.listColumns("ORDERS", credentials)).hasSize(2);
+        Thread.sleep(TTL_MILLIS + 100);
+        assertThat(service.listColumns("ORDERS", credentials)).hasSize(3);
+    }
+
+    @Test
+    void doesNotCacheTablesWithoutColumns() throws Exception {
+        assertThat(service.listColumns("MISSING", credentials)).isEmpty();
+        jdbcTemplate.execute("CREATE TABLE MISSING (ID INT)");
+
+        assertThat(service.listColumns("MISSING", credentials)).hasSize(1);
+    }
+
+    @Test
+    void keepsPreloadedColumnsUntilTheirFirstUse() throws Exception {
+        service.preloadColumns("ORDERS", credentials);
+        jdbcTemplate.execute("ALTER TABLE ORDERS ADD COLUMN STATUS VARCHAR(10)");
+        Thread.sleep(TTL_MILLIS + 100);
+
+        assertThat(service.listColumns("ORDERS", credentials)).hasSize(2);
+        assertThat(service.listColumns("ORDERS", credentials)).hasSize(2);
+        Thread.sleep(TTL_MILLIS + 100);
+        assertThat(service.listColumns("ORDERS", credentials)).hasSize(3);
+    }
+
+    @Test
+    void sweepsExpiredColumnsButKeepsUnusedPreloadedOnes() throws Exception {
+        service.listColumns("ORDERS", credentials);
+        service.preloadColumns("CUSTOMERS", credentials);
+        assertThat(service.getCachedTableCount()).isEqualTo(2);
+        Thread.sleep(TTL_MILLIS + 100);
+        jdbcTemplate.execute("CREATE TABLE PRODUCTS (ID INT)");
+
+        service.listColumns("PRODUCTS", credentials);
+
+        // ORDERS expired and was swept, CUSTOMERS has not been used yet
+        assertThat(service.getCachedTableCount()).isEqualTo(2);
+        jdbcTemplate.execute("ALTER TABLE CUSTOMERS ADD COLUMN EMAIL VARCHAR(50)");
+        assertThat(service.listColumns("CUSTOMERS", credentials)).hasSize(2);
+    }
+
+    @Test
+    void dropsColumnsOfClosedDataSource() throws SQLException {
+        service.listColumns("ORDERS", credentials);
+        service.preloadColumns("CUSTOMERS", credentials);
+
+        service.onDataSourceClosed(new DataSourceClosedEvent(dataSourceManager.getKey(credentials)));
+
+        assertThat(service.getCachedTableCount()).isZero();
+    }
+
+    private void onEvent(Object event) {
+        if (event instanceof DataSourceClosedEvent closed) {
+            service.onDataSourceClosed(closed);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.fordevs.dynamicqueryengine.service;
+
+import com.fordevs.dynamicqueryengine.config.DynamicDataSourceManager;
+import com.fordevs.dynamicqueryengine.config.StartupMetrics;
+import com.fordevs.dynamicqueryengine.config.WarmupProperties;
+import com.fordevs.dynamicqueryengine.dialect.H2Dialect;
+import com.fordevs.dynamicqueryengine.dialect.SqlDialectRegistry;
+import com.fordevs.dynamicqueryengine.dto.DatabaseCredentials;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WarmupServiceTest {
+
+    private static final long TTL_MILLIS = 200;
+
+    private final DynamicDataSourceManager dataSourceManager = new DynamicDataSourceManager(
+            new SqlDialectRegistry(List.of(new H2Dialect())), event -> {
+    });
+    private final SchemaDiscoveryService schemaDiscoveryService = new SchemaDiscoveryService(dataSourceManager);
+    private final StartupMetrics startupMetrics = new StartupMetrics();
+    private final WarmupProperties properties = new WarmupProperties();
+    private final WarmupProperties.DataSourceEntry entry = new WarmupProperties.DataSourceEntry();
+    private final DatabaseCredentials credentials;
+    private final JdbcTemplate jdbcTemplate;
+
+    WarmupServiceTest() {
+        ReflectionTestUtils.setField(schemaDiscoveryService, "metadataCacheTtlMillis", TTL_MILLIS);
+        entry.setDatabaseType("h2");
+        entry.setHost("localhost");
+        entry.setPort(9092);
+        entry.setDatabaseName("mem:" + UUID.randomUUID());
+        entry.setUserName("sa");
+        entry.setPassword("");
+        properties.getDataSources().add(entry);
+        credentials = entry.toCredentials();
+
+        assertThat(dataSourceManager.createAndTestConnection(credentials)).isTrue();
+        jdbcTemplate = dataSourceManager.getJdbcTemplateForDb(dataSourceManager.getKey(credentials));
+        jdbcTemplate.execute("CREATE TABLE ORDERS (ID INT, AMOUNT DECIMAL(10, 2))");
+        jdbcTemplate.execute("CREATE TABLE CUSTOMERS (ID INT, NAME VARCHAR(50))");
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        jdbcTemplate.execute("SHUTDOWN");
+        dataSourceManager.closeDataSource(dataSourceManager.getKey(credentials));
+    }
+
+    @Test
+    void fillsThePoolAndPreloadsMetadata() {
+        new WarmupService(properties, dataSourceManager, schemaDiscoveryService, startupMetrics).run(null);
+
+        Map<String, Object> result = warmupResult();
+        assertThat(result.get("status")).isEqualTo("ok");
+        assertThat((Integer) result.get("connections")).isGreaterThanOrEqualTo(2);
+        assertThat(result.get("tables")).isEqualTo(2);
+        assertThat(schemaDiscoveryService.getCachedTableCount()).isEqualTo(2);
+    }
+
+    @Test
+    void keepsPreloadedMetadataPastTheTtlUntilFirstUse() throws Exception {
+        new WarmupService(properties, dataSourceManager, schemaDiscoveryService, startupMetrics).run(null);
+        jdbcTemplate.execute("ALTER TABLE ORDERS ADD COLUMN STATUS VARCHAR(10)");
+        Thread.sleep(TTL_MILLIS + 100);
+
+        // Served from the cache, a reload would see the new column
+        assertThat(schemaDiscoveryService.listColumns("ORDERS", credentials)).hasSize(2);
+    }
+
+    @Test
+    void recordsDataSourcesThatCannotBeWarmedUp() {
+        entry.setDatabaseName("x;INIT=CREATE ALIAS");
+
+        new WarmupService(properties, dataSourceManager, schemaDiscoveryService, startupMetrics).run(null);
+
+        assertThat(warmupResult().get("status")).isEqualTo("failed");
+        assertThat(schemaDiscoveryService.getCachedTableCount()).isZero();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> warmupResult() {
+        Map<String, Object> warmups = (Map<String, Object>) startupMetrics.getStats().get("warmup");
+        assertThat(warmups).hasSize(1);
+        return (Map<String, Object>) warmups.values().iterator().next();
+    }
+}